@@ -0,0 +1,48 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files and prints the change of every benchmark score.
+
+Usage: scripts/compare-jmh.py build/results/jmh/results-<old>.json build/results/jmh/results-<new>.json
+"""
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    scores = {}
+    for result in results:
+        params = result.get("params") or {}
+        name = result["benchmark"].rsplit(".", 2)[-2:]
+        key = ".".join(name) + "".join(f" [{k}={v}]" for k, v in sorted(params.items()))
+        metric = result["primaryMetric"]
+        scores[key] = (metric["score"], metric["scoreError"], metric["scoreUnit"])
+    return scores
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+
+    old, new = load(sys.argv[1]), load(sys.argv[2])
+    width = max(len(key) for key in old.keys() | new.keys())
+    print(f"{'benchmark':<{width}}  {'old':>12}  {'new':>12}  {'change':>8}  unit")
+    for key in sorted(old.keys() | new.keys()):
+        if key not in old or key not in new:
+            score, _, unit = (new if key in new else old)[key]
+            old_column = f"{score:12.3f}" if key in old else f"{'-':>12}"
+            new_column = f"{score:12.3f}" if key in new else f"{'-':>12}"
+            print(f"{key:<{width}}  {old_column}  {new_column}  {'':>8}  {unit}")
+            continue
+
+        old_score, old_error, unit = old[key]
+        new_score, new_error, _ = new[key]
+        change = (new_score - old_score) / old_score * 100 if old_score else float("nan")
+        # Differences within the combined error bounds are marked as noise
+        noise = abs(new_score - old_score) <= (old_error + new_error)
+        flag = " ~" if noise else ""
+        print(f"{key:<{width}}  {old_score:12.3f}  {new_score:12.3f}  {change:+7.1f}%{flag}  {unit}")
+
+
+if __name__ == "__main__":
+    main()
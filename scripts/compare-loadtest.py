@@ -0,0 +1,52 @@
+#!/usr/bin/env python3
+"""Compares the summary.json files of two load-test runs and prints the latency change per endpoint and rate.
+
+Usage: scripts/compare-loadtest.py build/results/loadtest/<old>/summary.json build/results/loadtest/<new>/summary.json
+"""
+import json
+import sys
+
+PERCENTILES = ["50.0", "99.0", "99.9"]
+
+
+def load(path):
+    with open(path) as f:
+        run = json.load(f)
+    results = {}
+    for phase in run["phases"]:
+        for endpoint, summary in phase["endpoints"].items():
+            results[(phase["targetPerSecond"], endpoint)] = summary
+    return run["label"], results
+
+
+def column(summary, percentile):
+    return f"{summary['latencyMillis'][percentile]:9.2f}" if summary else f"{'-':>9}"
+
+
+def main():
+    if len(sys.argv) != 3:
+        sys.exit(__doc__)
+
+    old_label, old = load(sys.argv[1])
+    new_label, new = load(sys.argv[2])
+    print(f"old: {old_label}, new: {new_label} (latencies in ms, errors as old/new)")
+    names = ["p" + p.rstrip("0").rstrip(".") for p in PERCENTILES]
+    header = "".join(f"  {name + ' old':>9}  {name + ' new':>9}  {'change':>8}" for name in names)
+    print(f"{'rate':>6}  {'endpoint':<10}{header}  errors")
+    for key in sorted(old.keys() | new.keys()):
+        rate, endpoint = key
+        old_summary, new_summary = old.get(key), new.get(key)
+        row = f"{rate:>6}  {endpoint:<10}"
+        for percentile in PERCENTILES:
+            change = ""
+            if old_summary and new_summary and old_summary["latencyMillis"][percentile]:
+                old_value = old_summary["latencyMillis"][percentile]
+                new_value = new_summary["latencyMillis"][percentile]
+                change = f"{(new_value - old_value) / old_value * 100:+7.1f}%"
+            row += f"  {column(old_summary, percentile)}  {column(new_summary, percentile)}  {change:>8}"
+        errors = "/".join(str(summary["errors"]) if summary else "-" for summary in (old_summary, new_summary))
+        print(f"{row}  {errors}")
+
+
+if __name__ == "__main__":
+    main()
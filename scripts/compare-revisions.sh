@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Runs the load test against two git revisions and compares their latencies.
+# The harness and dataset come from the current checkout, only the application jar differs,
+# so both revisions are measured in exactly the same way.
+#
+# Usage: scripts/compare-revisions.sh <old-revision> <new-revision> [-PloadTest.<option>=<value> ...]
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+	sed -n '2,6p' "$0"
+	exit 1
+fi
+
+root="$(git rev-parse --show-toplevel)"
+old="$1"
+new="$2"
+shift 2
+
+worktrees="$(mktemp -d)"
+trap 'for dir in "$worktrees"/*; do git -C "$root" worktree remove --force "$dir"; done; rm -rf "$worktrees"' EXIT
+
+summaries=()
+for revision in "$old" "$new"; do
+	label="$(git -C "$root" rev-parse --short "$revision")"
+	git -C "$root" worktree add --detach "$worktrees/$label" "$revision"
+	(cd "$worktrees/$label" && ./gradlew -q bootJar)
+	jar="$(ls "$worktrees/$label"/build/libs/*.jar | grep -v -- '-plain\.jar$' | head -n 1)"
+
+	"$root/gradlew" -p "$root" loadTest "-PloadTest.jar=$jar" "-PloadTest.label=$label" "$@"
+	summaries+=("$root/build/results/loadtest/$label/summary.json")
+done
+
+"$root/scripts/compare-loadtest.py" "${summaries[@]}"
@@ -0,0 +1,47 @@
+package com.basicrud.backend.benchmarks;
+
+import java.util.Date;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.basicrud.backend.utils.JWTUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Builds the application components the benchmarks need without starting Spring,
+ * so every benchmark runs without a database or network.
+ */
+final class BenchmarkFixtures {
+	static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+	static final int ACCESS_EXPIRATION_IN_MINUTES = 15;
+	static final String USER_ID = "123456";
+
+	private BenchmarkFixtures() {
+	}
+
+	static JWTUtils jwtUtils() {
+		JWTUtils jwtUtils = new JWTUtils();
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtUtils, "jwtAccessExpirationInMinutes", ACCESS_EXPIRATION_IN_MINUTES);
+		ReflectionTestUtils.setField(jwtUtils, "jwtRefreshExpirationInDays", 7);
+		ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+		jwtUtils.init();
+		return jwtUtils;
+	}
+
+	static String validAccessToken(JWTUtils jwtUtils) {
+		return jwtUtils.generateAccessToken(USER_ID, new Date());
+	}
+
+	static String expiredAccessToken(JWTUtils jwtUtils) {
+		long issuedAt = System.currentTimeMillis() - 2L * ACCESS_EXPIRATION_IN_MINUTES * 60 * 1000;
+		return jwtUtils.generateAccessToken(USER_ID, new Date(issuedAt));
+	}
+
+	static String badSignatureToken(JWTUtils jwtUtils) {
+		String token = validAccessToken(jwtUtils);
+		char last = token.charAt(token.length() - 1);
+		return token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+	}
+}
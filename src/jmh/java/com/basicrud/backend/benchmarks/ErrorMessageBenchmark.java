@@ -0,0 +1,43 @@
+package com.basicrud.backend.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.basicrud.backend.exceptions.ErrorMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialization of the error body returned by GlobalExceptionHandler, with an ObjectMapper
+ * configured the way Spring Boot configures the one used for responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorMessageBenchmark {
+	private ObjectMapper objectMapper;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	}
+
+	@Benchmark
+	public ErrorMessage create() {
+		return new ErrorMessage(401, new Date(), "The token is invalid or has expired", "Invalid or expired JWT token");
+	}
+
+	@Benchmark
+	public byte[] createAndSerialize() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(create());
+	}
+}
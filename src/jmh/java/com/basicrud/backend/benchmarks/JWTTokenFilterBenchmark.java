@@ -0,0 +1,120 @@
+package com.basicrud.backend.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.security.JWTTokenFilter;
+import com.basicrud.backend.security.RevokedUserRegistry;
+import com.basicrud.backend.security.VerifiedTokenCache;
+import com.basicrud.backend.services.CustomUserDetailsService;
+import com.basicrud.backend.services.UserDetailsCache;
+import com.basicrud.backend.utils.JWTUtils;
+import com.basicrud.backend.utils.UserIdentifierResolver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * One pass of JWTTokenFilter over a request, with a chain that does nothing.
+ * The user repository is a mock, so in the default mode the measured lookup is the
+ * UserDetailsCache hit that serves almost every request in production.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JWTTokenFilterBenchmark {
+	@Param({ "false", "true" })
+	private boolean statelessPrincipal;
+
+	private JWTTokenFilter filter;
+	private MockHttpServletRequest validRequest;
+	private MockHttpServletRequest expiredRequest;
+	private MockHttpServletRequest anonymousRequest;
+	private MockHttpServletResponse response;
+	private FilterChain chain;
+
+	@Setup
+	public void setUp() {
+		JWTUtils jwtUtils = BenchmarkFixtures.jwtUtils();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+		User user = new User("benchmark", "benchmark@example.com", "");
+		user.setId(Long.parseLong(BenchmarkFixtures.USER_ID));
+		user.setPassword("{bcrypt}unused");
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+
+		CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+		ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+		ReflectionTestUtils.setField(userDetailsService, "userDetailsCache", new UserDetailsCache(meterRegistry, 10_000, 300));
+		ReflectionTestUtils.setField(userDetailsService, "userIdentifierResolver", new UserIdentifierResolver());
+		ReflectionTestUtils.setField(userDetailsService, "meterRegistry", meterRegistry);
+		userDetailsService.init();
+
+		filter = new JWTTokenFilter();
+		ReflectionTestUtils.setField(filter, "verifiedTokenCache", new VerifiedTokenCache(jwtUtils, meterRegistry, 100_000));
+		ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(filter, "revokedUserRegistry", new RevokedUserRegistry(BenchmarkFixtures.ACCESS_EXPIRATION_IN_MINUTES));
+		ReflectionTestUtils.setField(filter, "statelessPrincipal", statelessPrincipal);
+		ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+		filter.init();
+
+		validRequest = request(BenchmarkFixtures.validAccessToken(jwtUtils));
+		expiredRequest = request(BenchmarkFixtures.expiredAccessToken(jwtUtils));
+		anonymousRequest = request(null);
+		response = new MockHttpServletResponse();
+		chain = (request, response) -> {
+		};
+	}
+
+	@Benchmark
+	public void validToken(Blackhole blackhole) throws ServletException, IOException {
+		run(validRequest, blackhole);
+	}
+
+	@Benchmark
+	public void expiredToken(Blackhole blackhole) throws ServletException, IOException {
+		run(expiredRequest, blackhole);
+	}
+
+	@Benchmark
+	public void noToken(Blackhole blackhole) throws ServletException, IOException {
+		run(anonymousRequest, blackhole);
+	}
+
+	private void run(MockHttpServletRequest request, Blackhole blackhole) throws ServletException, IOException {
+		filter.doFilter(request, response, chain);
+		blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+		SecurityContextHolder.clearContext();
+	}
+
+	private static MockHttpServletRequest request(String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+		if (token != null) {
+			request.addHeader("Authorization", "Bearer " + token);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,77 @@
+package com.basicrud.backend.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.dto.LoginResponse;
+import com.basicrud.backend.repositories.RefreshTokenRepository;
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.services.AuthService;
+import com.basicrud.backend.services.RefreshTokenRegistry;
+import com.basicrud.backend.services.RefreshTokenWriter;
+import com.basicrud.backend.services.UserService;
+
+/**
+ * Minting the token pair at login, against the earlier path that minted the refresh token and then
+ * passed it to generateAccessToken, re-verifying what it had just signed. The repositories, writer and
+ * filter are stubs that answer immediately, so the difference shown is CPU only; in production the
+ * earlier path also paid an existsById round-trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginTokensBenchmark {
+	private AuthService authService;
+	private Long userId;
+
+	@Setup
+	public void setUp() {
+		userId = Long.valueOf(BenchmarkFixtures.USER_ID);
+		User user = new User("benchmark", "benchmark@example.com", "");
+		user.setId(userId);
+
+		// Stub-only mocks keep no invocation history, which would otherwise grow with every call
+		UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+		when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+		RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class, withSettings().stubOnly());
+		when(refreshTokenRepository.existsById(any(UUID.class))).thenReturn(true);
+		RefreshTokenRegistry refreshTokenRegistry = mock(RefreshTokenRegistry.class, withSettings().stubOnly());
+		when(refreshTokenRegistry.mightExist(any(UUID.class), any())).thenReturn(true);
+
+		authService = new AuthService(
+			userRepository,
+			refreshTokenRepository,
+			mock(RefreshTokenWriter.class, withSettings().stubOnly()),
+			refreshTokenRegistry,
+			mock(UserService.class, withSettings().stubOnly()),
+			BenchmarkFixtures.jwtUtils()
+		);
+	}
+
+	@Benchmark
+	public LoginResponse generateTokens() {
+		return authService.generateTokens(userId);
+	}
+
+	@Benchmark
+	public LoginResponse mintThenReverify() {
+		String refreshToken = authService.generateRefreshToken(userId);
+		String accessToken = authService.generateAccessToken(refreshToken);
+		return new LoginResponse(accessToken, refreshToken);
+	}
+}
@@ -0,0 +1,75 @@
+package com.basicrud.backend.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.services.CustomUserDetailsService;
+import com.basicrud.backend.services.UserDetailsCache;
+import com.basicrud.backend.utils.UserIdentifierResolver;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * User lookups as the filter and the login flow perform them. The repository is a mock,
+ * so after the first call every lookup is a UserDetailsCache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserDetailsServiceBenchmark {
+	private static final String EMAIL = "benchmark@example.com";
+
+	private CustomUserDetailsService userDetailsService;
+	private long userId;
+
+	@Setup
+	public void setUp() {
+		userId = Long.parseLong(BenchmarkFixtures.USER_ID);
+		User user = new User("benchmark", EMAIL, "");
+		user.setId(userId);
+		user.setPassword("{bcrypt}unused");
+
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+		when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+
+		userDetailsService = new CustomUserDetailsService();
+		ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+		ReflectionTestUtils.setField(userDetailsService, "userDetailsCache", new UserDetailsCache(new SimpleMeterRegistry(), 10_000, 300));
+		ReflectionTestUtils.setField(userDetailsService, "userIdentifierResolver", new UserIdentifierResolver());
+		ReflectionTestUtils.setField(userDetailsService, "meterRegistry", new SimpleMeterRegistry());
+		userDetailsService.init();
+	}
+
+	@Benchmark
+	public UserDetails loadUserById() {
+		return userDetailsService.loadUserById(userId);
+	}
+
+	@Benchmark
+	public UserDetails loadUserByUsernameWithId() {
+		return userDetailsService.loadUserByUsername(BenchmarkFixtures.USER_ID);
+	}
+
+	@Benchmark
+	public UserDetails loadUserByUsernameWithEmail() {
+		return userDetailsService.loadUserByUsername(EMAIL);
+	}
+}
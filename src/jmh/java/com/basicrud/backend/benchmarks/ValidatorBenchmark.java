@@ -0,0 +1,71 @@
+package com.basicrud.backend.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.basicrud.backend.utils.NicknameValidator;
+import com.basicrud.backend.utils.PasswordValidator;
+import com.basicrud.backend.utils.UserIdentifierResolver;
+
+/**
+ * Input scans that run on every registration or login, on typical input and on the
+ * longest input each one accepts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidatorBenchmark {
+	private final PasswordValidator passwordValidator = new PasswordValidator();
+	private final NicknameValidator nicknameValidator = new NicknameValidator();
+	private final UserIdentifierResolver userIdentifierResolver = new UserIdentifierResolver();
+
+	private final String typicalPassword = "Tr0ub4dor&3";
+	// Maximum length, with the special character last so the whole string is scanned
+	private final String longestPassword = "Aa1" + "x".repeat(1020) + "!";
+	private final String weakPassword = "a".repeat(1024);
+	private final String typicalNickname = "jane_doe-42";
+	private final String longestNickname = "n".repeat(50);
+	private final String numericPrincipal = "1234567890";
+	private final String emailPrincipal = "jane.doe@example.com";
+
+	@Benchmark
+	public boolean typicalPassword() {
+		return passwordValidator.isValid(typicalPassword);
+	}
+
+	@Benchmark
+	public boolean longestPassword() {
+		return passwordValidator.isValid(longestPassword);
+	}
+
+	@Benchmark
+	public boolean weakPassword() {
+		return passwordValidator.isValid(weakPassword);
+	}
+
+	@Benchmark
+	public boolean typicalNickname() {
+		return nicknameValidator.isValid(typicalNickname);
+	}
+
+	@Benchmark
+	public boolean longestNickname() {
+		return nicknameValidator.isValid(longestNickname);
+	}
+
+	@Benchmark
+	public long resolveNumericPrincipal() {
+		return userIdentifierResolver.resolveUserId(numericPrincipal);
+	}
+
+	@Benchmark
+	public long resolveEmailPrincipal() {
+		return userIdentifierResolver.resolveUserId(emailPrincipal);
+	}
+}
@@ -0,0 +1,89 @@
+package com.basicrud.backend.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application under test, started from its executable jar in a JVM of its own so the
+ * load generator does not compete with it for heap, GC or JIT, and so any revision's jar
+ * can be measured by the same harness.
+ */
+class ApplicationProcess implements AutoCloseable {
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+	private final Process process;
+	private final URI base;
+
+	private ApplicationProcess(Process process, int port) {
+		this.process = process;
+		this.base = URI.create("http://localhost:" + port);
+	}
+
+	static ApplicationProcess start(Path jar, List<String> arguments, Path log) throws IOException, InterruptedException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-jar");
+		command.add(jar.toAbsolutePath().toString());
+		command.add("--server.port=" + port);
+		command.addAll(arguments);
+
+		Process process = new ProcessBuilder(command)
+			.redirectErrorStream(true)
+			.redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+			.start();
+		ApplicationProcess application = new ApplicationProcess(process, port);
+		application.awaitStartup(log);
+		return application;
+	}
+
+	URI base() {
+		return base;
+	}
+
+	// Any HTTP response means the server is accepting requests; the health status itself
+	// may be DOWN because of components the load test does not provide (mail, AMQP)
+	private void awaitStartup(Path log) throws InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(base.resolve("/actuator/health"))
+			.timeout(Duration.ofSeconds(2))
+			.build();
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+		try (HttpClient client = HttpClient.newHttpClient()) {
+			while (System.nanoTime() < deadline) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("The application exited during startup, see " + log);
+				}
+				try {
+					client.send(request, BodyHandlers.discarding());
+					return;
+				} catch (IOException e) {
+					Thread.sleep(500);
+				}
+			}
+		}
+		close();
+		throw new IllegalStateException("The application did not start within " + STARTUP_TIMEOUT + ", see " + log);
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		process.destroy();
+		if (!process.waitFor(30, TimeUnit.SECONDS)) {
+			process.destroyForcibly().waitFor();
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.basicrud.backend.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
+import javax.sql.DataSource;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.basicrud.backend.utils.KeysetCursor;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Fills the schema Flyway created with a dataset of the requested size.
+ * Rows are generated inside PostgreSQL with generate_series, so ten million posts take
+ * minutes instead of hours; tokens are signed here with the secret the application runs with.
+ */
+class DataSeeder {
+	private static final int TOKEN_BATCH_SIZE = 1_000;
+	// Every seeded user shares one hash, so seeding costs a single bcrypt round
+	private static final int BCRYPT_STRENGTH = 10;
+
+	private final DataSource dataSource;
+	private final SecretKey key;
+
+	DataSeeder(DataSource dataSource, String jwtSecret) {
+		this.dataSource = dataSource;
+		this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+	}
+
+	SeededData seed(LoadTestConfig config) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			seedUsers(connection, config.users());
+			if (config.posts() > 0) {
+				seedPosts(connection, config.users(), config.posts());
+			}
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("ANALYZE");
+			}
+
+			String deepFeedCursor = config.posts() > 0 ? deepFeedCursor(connection, config.posts()) : null;
+			String[] accessTokens = new String[config.tokenUsers()];
+			String[] refreshTokens = new String[config.tokenUsers()];
+			seedTokens(connection, accessTokens, refreshTokens);
+
+			return new SeededData(config.users(), accessTokens, refreshTokens, deepFeedCursor);
+		}
+	}
+
+	private void seedUsers(Connection connection, int users) throws SQLException {
+		String hash = "{bcrypt}" + new BCryptPasswordEncoder(BCRYPT_STRENGTH).encode(SeededData.PASSWORD);
+		try (PreparedStatement statement = connection.prepareStatement(
+			"INSERT INTO users (id, nickname, email, password) "
+				+ "SELECT g, 'user' || g, 'user-' || g || '@example.com', ? FROM generate_series(1, ?) g"
+		)) {
+			statement.setString(1, hash);
+			statement.setInt(2, users);
+			statement.executeUpdate();
+		}
+		advanceSequence(connection, "users_seq", "users");
+	}
+
+	// One post per second of history, authored round-robin by the seeded users
+	private void seedPosts(Connection connection, int users, long posts) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(
+			"INSERT INTO posts (id, user_id, title, content, comment_count, created_at, updated_at) "
+				+ "SELECT g, 1 + (g % ?), 'Post ' || g, repeat('Lorem ipsum dolor sit amet. ', 8), 0, "
+				+ "TIMESTAMP '2020-01-01' + g * INTERVAL '1 second', TIMESTAMP '2020-01-01' + g * INTERVAL '1 second' "
+				+ "FROM generate_series(1, ?) g"
+		)) {
+			statement.setInt(1, users);
+			statement.setLong(2, posts);
+			statement.executeUpdate();
+		}
+		advanceSequence(connection, "posts_seq", "posts");
+	}
+
+	// Pooled generators hand out ids above the sequence value, so it must clear the seeded ids
+	private void advanceSequence(Connection connection, String sequence, String table) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("SELECT setval('" + sequence + "', (SELECT COALESCE(MAX(id), 0) + 50 FROM " + table + "))");
+		}
+	}
+
+	// The position 90% of the way down the feed, which is ordered newest first
+	private String deepFeedCursor(Connection connection, long posts) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(
+			"SELECT created_at, id FROM posts ORDER BY created_at DESC, id DESC OFFSET ? LIMIT 1"
+		)) {
+			statement.setLong(1, posts * 9 / 10);
+			try (ResultSet rs = statement.executeQuery()) {
+				rs.next();
+				return new KeysetCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)).encode();
+			}
+		}
+	}
+
+	private void seedTokens(Connection connection, String[] accessTokens, String[] refreshTokens) throws SQLException {
+		// Tokens live as long as the whole run, however many rates it measures
+		Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+		Date issuedAt = Date.from(now);
+		Date accessExpiration = Date.from(now.plus(1, ChronoUnit.DAYS));
+		Date refreshExpiration = Date.from(now.plus(7, ChronoUnit.DAYS));
+		LocalDateTime createdAt = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+		LocalDateTime expiresAt = LocalDateTime.ofInstant(refreshExpiration.toInstant(), ZoneOffset.UTC);
+
+		boolean autoCommit = connection.getAutoCommit();
+		connection.setAutoCommit(false);
+		try (PreparedStatement statement = connection.prepareStatement(
+			"INSERT INTO refresh_token (id, user_id, created_at, expires_at) VALUES (?, ?, ?, ?)"
+		)) {
+			for (int user = 0; user < accessTokens.length; user++) {
+				String subject = Long.toString(user + 1L);
+				UUID tokenId = UUID.randomUUID();
+
+				accessTokens[user] = Jwts.builder()
+					.subject(subject)
+					.issuedAt(issuedAt)
+					.expiration(accessExpiration)
+					.signWith(key)
+					.compact();
+				refreshTokens[user] = Jwts.builder()
+					.subject(subject)
+					.id(tokenId.toString())
+					.issuedAt(issuedAt)
+					.expiration(refreshExpiration)
+					.signWith(key)
+					.compact();
+
+				statement.setObject(1, tokenId);
+				statement.setLong(2, user + 1L);
+				statement.setTimestamp(3, Timestamp.valueOf(createdAt));
+				statement.setTimestamp(4, Timestamp.valueOf(expiresAt));
+				statement.addBatch();
+				if ((user + 1) % TOKEN_BATCH_SIZE == 0) {
+					statement.executeBatch();
+				}
+			}
+			statement.executeBatch();
+			connection.commit();
+		} finally {
+			connection.setAutoCommit(autoCommit);
+		}
+	}
+}
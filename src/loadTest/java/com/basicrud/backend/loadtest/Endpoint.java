@@ -0,0 +1,87 @@
+package com.basicrud.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The endpoints the load test drives. Each request is built for one seeded user,
+ * chosen by the caller, and succeeds only with a 2xx response.
+ */
+enum Endpoint {
+	LOGIN("login") {
+		@Override
+		HttpRequest.Builder request(URI base, SeededData data, int user) {
+			String body = "{\"email\":\"" + data.email(user) + "\",\"password\":\"" + SeededData.PASSWORD + "\"}";
+			return json(base.resolve("/api/auth/login"), body);
+		}
+	},
+	REFRESH("refresh") {
+		@Override
+		HttpRequest.Builder request(URI base, SeededData data, int user) {
+			return json(base.resolve("/api/auth/refresh"), "{\"refreshToken\":\"" + data.refreshToken(user) + "\"}");
+		}
+	},
+	USER_BY_ID("userById") {
+		@Override
+		HttpRequest.Builder request(URI base, SeededData data, int user) {
+			return authenticated(base.resolve("/api/users/" + data.userId(user)), data, user);
+		}
+	},
+	ME("me") {
+		@Override
+		HttpRequest.Builder request(URI base, SeededData data, int user) {
+			return authenticated(base.resolve("/api/users/me"), data, user);
+		}
+	},
+	FEED("feed") {
+		@Override
+		HttpRequest.Builder request(URI base, SeededData data, int user) {
+			return authenticated(base.resolve("/api/posts"), data, user);
+		}
+	},
+	// A page about 90% of the way through the feed, which costs the same as the first with keyset pagination
+	FEED_DEEP("feedDeep") {
+		@Override
+		HttpRequest.Builder request(URI base, SeededData data, int user) {
+			return authenticated(base.resolve("/api/posts?cursor=" + data.deepFeedCursor()), data, user);
+		}
+	};
+
+	private final String displayName;
+
+	Endpoint(String displayName) {
+		this.displayName = displayName;
+	}
+
+	abstract HttpRequest.Builder request(URI base, SeededData data, int user);
+
+	HttpRequest build(URI base, SeededData data, int user, Duration timeout) {
+		return request(base, data, user).timeout(timeout).build();
+	}
+
+	String displayName() {
+		return displayName;
+	}
+
+	static Endpoint fromName(String name) {
+		return Arrays.stream(values())
+			.filter(endpoint -> endpoint.displayName.equals(name))
+			.findFirst()
+			.orElseThrow(() -> new IllegalArgumentException("Unknown endpoint in loadTest.mix: " + name));
+	}
+
+	private static HttpRequest.Builder json(URI uri, String body) {
+		return HttpRequest.newBuilder(uri)
+			.header("Content-Type", "application/json")
+			.POST(BodyPublishers.ofString(body));
+	}
+
+	private static HttpRequest.Builder authenticated(URI uri, SeededData data, int user) {
+		return HttpRequest.newBuilder(uri)
+			.header("Authorization", "Bearer " + data.accessToken(user))
+			.GET();
+	}
+}
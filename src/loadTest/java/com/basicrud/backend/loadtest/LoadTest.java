@@ -0,0 +1,74 @@
+package com.basicrud.backend.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.basicrud.backend.loadtest.OpenLoopDriver.PhaseResult;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * End-to-end load test: an embedded PostgreSQL, the application jar in its own JVM,
+ * a seeded dataset and an open-loop load generator stepping through the target rates.
+ * Run with ./gradlew loadTest; see the "Load tests" section of the README for the options.
+ */
+public class LoadTest {
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+		Path runDirectory = config.outputDirectory().resolve(config.label());
+		Files.createDirectories(runDirectory);
+		Path log = runDirectory.resolve("app.log");
+		Files.deleteIfExists(log);
+
+		String jwtSecret = UUID.randomUUID().toString() + UUID.randomUUID();
+
+		try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+			List<String> arguments = new ArrayList<>(List.of(
+				"--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+				"--spring.datasource.username=postgres",
+				"--spring.datasource.password=",
+				"--jwt.secret=" + jwtSecret,
+				"--jwt.accessExpirationInMinutes=60",
+				"--jwt.refreshExpirationInDays=7",
+				// A fixed strength keeps login cost comparable between machines and revisions
+				"--passwordHashing.bcrypt.strength=10",
+				"--spring.threads.virtual.enabled=true",
+				"--logging.level.root=WARN"
+			));
+			arguments.addAll(config.applicationArguments());
+
+			// The first start lets Flyway create the schema the seeder fills
+			System.out.println("Creating the schema");
+			ApplicationProcess.start(config.jar(), arguments, log).close();
+
+			System.out.printf("Seeding %d users and %d posts%n", config.users(), config.posts());
+			long seedingStarted = System.nanoTime();
+			SeededData data = new DataSeeder(postgres.getPostgresDatabase(), jwtSecret).seed(config);
+			System.out.printf("Seeded in %d s%n", (System.nanoTime() - seedingStarted) / 1_000_000_000L);
+
+			// Started again so caches and the refresh token filter are built from the seeded data
+			List<PhaseResult> phases = new ArrayList<>();
+			Report report = new Report(runDirectory);
+			try (ApplicationProcess application = ApplicationProcess.start(config.jar(), arguments, log);
+				OpenLoopDriver driver = new OpenLoopDriver(application.base(), data, config.mix(), config.requestTimeout())) {
+				for (int rate : config.rates()) {
+					System.out.printf(
+						"Running at %d/s: %d s warm-up, %d s measured%n",
+						rate,
+						config.warmup().toSeconds(),
+						config.duration().toSeconds()
+					);
+					PhaseResult phase = driver.run(rate, config.warmup(), config.duration());
+					report.print(phase, System.out);
+					phases.add(phase);
+				}
+			}
+
+			report.write(config, phases);
+			System.out.println("\nResults written to " + runDirectory.toAbsolutePath());
+		}
+	}
+}
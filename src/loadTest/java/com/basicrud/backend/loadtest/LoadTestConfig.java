@@ -0,0 +1,76 @@
+package com.basicrud.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of one load-test run, read from "loadTest.*" system properties
+ * (the Gradle task forwards -PloadTest.* project properties).
+ */
+record LoadTestConfig(
+	Path jar,
+	String label,
+	Path outputDirectory,
+	int users,
+	int tokenUsers,
+	long posts,
+	List<Integer> rates,
+	Duration warmup,
+	Duration duration,
+	Duration requestTimeout,
+	Map<Endpoint, Integer> mix,
+	List<String> applicationArguments
+) {
+	static LoadTestConfig fromSystemProperties() {
+		String jar = System.getProperty("loadTest.jar");
+		if (jar == null) {
+			throw new IllegalArgumentException("loadTest.jar must point at the application's executable jar");
+		}
+
+		int users = Integer.getInteger("loadTest.users", 10_000);
+		long posts = Long.getLong("loadTest.posts", 0L);
+		String defaultMix = posts > 0
+			? "login:1,refresh:2,userById:4,me:4,feed:2,feedDeep:1"
+			: "login:1,refresh:2,userById:4,me:4";
+
+		return new LoadTestConfig(
+			Path.of(jar),
+			System.getProperty("loadTest.label", "current"),
+			Path.of(System.getProperty("loadTest.outputDir", "build/results/loadtest")),
+			users,
+			Math.min(users, Integer.getInteger("loadTest.tokenUsers", 10_000)),
+			posts,
+			Arrays.stream(System.getProperty("loadTest.rates", "100,200,400").split(","))
+				.map(String::trim)
+				.map(Integer::parseInt)
+				.toList(),
+			Duration.ofSeconds(Long.getLong("loadTest.warmupSeconds", 10L)),
+			Duration.ofSeconds(Long.getLong("loadTest.durationSeconds", 30L)),
+			Duration.ofSeconds(Long.getLong("loadTest.requestTimeoutSeconds", 10L)),
+			parseMix(System.getProperty("loadTest.mix", defaultMix)),
+			Arrays.stream(System.getProperty("loadTest.appArgs", "").split("\\s+"))
+				.filter(argument -> !argument.isEmpty())
+				.toList()
+		);
+	}
+
+	// "name:weight,name:weight", e.g. "login:1,me:4"
+	private static Map<Endpoint, Integer> parseMix(String mix) {
+		Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split(":");
+			int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+			if (weight > 0) {
+				weights.put(Endpoint.fromName(parts[0]), weight);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("loadTest.mix selects no endpoint");
+		}
+		return weights;
+	}
+}
@@ -0,0 +1,185 @@
+package com.basicrud.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends requests on a fixed schedule, whether or not earlier requests have completed.
+ * Latency is measured from the moment a request was due to be sent, not from when it
+ * actually went out, so a stalled server is charged for the requests it held back
+ * (no coordinated omission).
+ */
+class OpenLoopDriver implements AutoCloseable {
+	// Latencies are recorded in microseconds, up to one hour, with three significant digits
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	private final URI base;
+	private final SeededData data;
+	private final Duration requestTimeout;
+	private final Endpoint[] schedule;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final HttpClient client;
+
+	OpenLoopDriver(URI base, SeededData data, Map<Endpoint, Integer> mix, Duration requestTimeout) {
+		this.base = base;
+		this.data = data;
+		this.requestTimeout = requestTimeout;
+		this.schedule = expand(mix);
+		this.client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(requestTimeout)
+			.executor(executor)
+			.build();
+	}
+
+	// Each endpoint appears as often as its weight; requests cycle through the slots in order
+	private static Endpoint[] expand(Map<Endpoint, Integer> mix) {
+		List<Endpoint> slots = new ArrayList<>();
+		mix.forEach((endpoint, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				slots.add(endpoint);
+			}
+		});
+		return slots.toArray(Endpoint[]::new);
+	}
+
+	PhaseResult run(int ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+		Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+		Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+		for (Endpoint endpoint : schedule) {
+			recorders.computeIfAbsent(endpoint, e -> new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+			errors.computeIfAbsent(endpoint, e -> new LongAdder());
+		}
+		Recorder overall = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+		LongAdder overallErrors = new LongAdder();
+		AtomicLong inFlight = new AtomicLong();
+
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+		long totalRequests = (warmup.toNanos() + duration.toNanos()) / intervalNanos;
+		long start = System.nanoTime();
+		long measureFrom = start + warmup.toNanos();
+
+		// One row per second of the whole phase, warm-up included, to show how throughput settles
+		List<TimelineRow> timeline = new ArrayList<>();
+		ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+		Histogram[] interval = {overall.getIntervalHistogram()};
+		long[] lastErrors = new long[1];
+		sampler.scheduleAtFixedRate(() -> {
+			interval[0] = overall.getIntervalHistogram(interval[0]);
+			long errorsSoFar = overallErrors.sum();
+			timeline.add(new TimelineRow(
+				timeline.size() + 1,
+				interval[0].getTotalCount(),
+				errorsSoFar - lastErrors[0],
+				inFlight.get(),
+				interval[0].getValueAtPercentile(50.0),
+				interval[0].getValueAtPercentile(99.0),
+				interval[0].getMaxValue()
+			));
+			lastErrors[0] = errorsSoFar;
+		}, 1, 1, TimeUnit.SECONDS);
+
+		List<CompletableFuture<?>> pending = new ArrayList<>();
+		for (long i = 0; i < totalRequests; i++) {
+			long intendedStart = start + i * intervalNanos;
+			long wait;
+			while ((wait = intendedStart - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			Endpoint endpoint = schedule[(int) (i % schedule.length)];
+			int user = ThreadLocalRandom.current().nextInt(data.tokenUsers());
+			boolean measured = intendedStart >= measureFrom;
+
+			inFlight.incrementAndGet();
+			CompletableFuture<HttpResponse<Void>> response = client.sendAsync(
+				endpoint.build(base, data, user, requestTimeout),
+				BodyHandlers.discarding()
+			);
+			pending.add(response.whenComplete((result, failure) -> {
+				inFlight.decrementAndGet();
+				// Failed requests are recorded as well: dropping them would hide the slowest outcomes
+				long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+				boolean failed = failure != null || result.statusCode() / 100 != 2;
+				overall.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+				if (failed) {
+					overallErrors.increment();
+				}
+				if (measured) {
+					recorders.get(endpoint).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+					if (failed) {
+						errors.get(endpoint).increment();
+					}
+				}
+			}));
+		}
+		long sendingEnded = System.nanoTime();
+
+		try {
+			CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+				.exceptionally(failure -> null)
+				.get(requestTimeout.toSeconds() * 2, TimeUnit.SECONDS);
+		} catch (ExecutionException | TimeoutException e) {
+			System.err.println("Some requests did not complete within " + requestTimeout.toSeconds() * 2 + " s");
+		}
+		sampler.shutdown();
+		sampler.awaitTermination(2, TimeUnit.SECONDS);
+
+		double measuredSeconds = (sendingEnded - measureFrom) / 1e9;
+		Map<Endpoint, EndpointResult> results = new EnumMap<>(Endpoint.class);
+		recorders.forEach((endpoint, recorder) -> {
+			Histogram histogram = recorder.getIntervalHistogram();
+			results.put(endpoint, new EndpointResult(
+				histogram,
+				errors.get(endpoint).sum(),
+				histogram.getTotalCount() / measuredSeconds
+			));
+		});
+		return new PhaseResult(ratePerSecond, results, List.copyOf(timeline));
+	}
+
+	@Override
+	public void close() {
+		client.close();
+		executor.close();
+	}
+
+	record EndpointResult(Histogram histogram, long errors, double achievedPerSecond) {
+	}
+
+	record TimelineRow(
+		long second,
+		long completed,
+		long errors,
+		long inFlight,
+		long p50Micros,
+		long p99Micros,
+		long maxMicros
+	) {
+	}
+
+	record PhaseResult(int targetPerSecond, Map<Endpoint, EndpointResult> endpoints, List<TimelineRow> timeline) {
+	}
+}
@@ -0,0 +1,140 @@
+package com.basicrud.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.basicrud.backend.loadtest.OpenLoopDriver.EndpointResult;
+import com.basicrud.backend.loadtest.OpenLoopDriver.PhaseResult;
+import com.basicrud.backend.loadtest.OpenLoopDriver.TimelineRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes the results of a run under outputDir/label:
+ * summary.json for scripts/compare-loadtest.py, and per target rate the full latency
+ * histograms (.hgrm, readable by the HdrHistogram plotter) and a per-second timeline.csv.
+ */
+class Report {
+	private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+	private final Path directory;
+
+	Report(Path directory) {
+		this.directory = directory;
+	}
+
+	void write(LoadTestConfig config, List<PhaseResult> phases) throws IOException {
+		Files.createDirectories(directory);
+
+		List<Map<String, Object>> summaries = new ArrayList<>();
+		for (PhaseResult phase : phases) {
+			Path phaseDirectory = directory.resolve("rate-" + phase.targetPerSecond());
+			Files.createDirectories(phaseDirectory);
+			phase.endpoints().forEach((endpoint, result) -> writeHistogram(
+				phaseDirectory.resolve(endpoint.displayName() + ".hgrm"),
+				result.histogram()
+			));
+			writeTimeline(phaseDirectory.resolve("timeline.csv"), phase.timeline());
+
+			Map<String, Object> endpoints = new LinkedHashMap<>();
+			phase.endpoints().forEach((endpoint, result) -> endpoints.put(endpoint.displayName(), summarize(result)));
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("targetPerSecond", phase.targetPerSecond());
+			summary.put("endpoints", endpoints);
+			summaries.add(summary);
+		}
+
+		Map<String, Object> run = new LinkedHashMap<>();
+		run.put("label", config.label());
+		run.put("users", config.users());
+		run.put("posts", config.posts());
+		run.put("warmupSeconds", config.warmup().toSeconds());
+		run.put("durationSeconds", config.duration().toSeconds());
+		run.put("phases", summaries);
+		new ObjectMapper()
+			.enable(SerializationFeature.INDENT_OUTPUT)
+			.writeValue(directory.resolve("summary.json").toFile(), run);
+	}
+
+	void print(PhaseResult phase, PrintStream out) {
+		out.printf(Locale.ROOT, "%nTarget rate %d/s%n", phase.targetPerSecond());
+		out.printf(
+			Locale.ROOT,
+			"%-10s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+			"endpoint", "count", "errors", "achieved/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"
+		);
+		phase.endpoints().forEach((endpoint, result) -> {
+			Histogram histogram = result.histogram();
+			out.printf(
+				Locale.ROOT,
+				"%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+				endpoint.displayName(),
+				histogram.getTotalCount(),
+				result.errors(),
+				result.achievedPerSecond(),
+				millis(histogram.getValueAtPercentile(50.0)),
+				millis(histogram.getValueAtPercentile(90.0)),
+				millis(histogram.getValueAtPercentile(99.0)),
+				millis(histogram.getValueAtPercentile(99.9)),
+				millis(histogram.getMaxValue())
+			);
+		});
+	}
+
+	private static Map<String, Object> summarize(EndpointResult result) {
+		Histogram histogram = result.histogram();
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", histogram.getTotalCount());
+		summary.put("errors", result.errors());
+		summary.put("achievedPerSecond", result.achievedPerSecond());
+		Map<String, Double> percentiles = new LinkedHashMap<>();
+		for (double percentile : PERCENTILES) {
+			percentiles.put(Double.toString(percentile), millis(histogram.getValueAtPercentile(percentile)));
+		}
+		percentiles.put("max", millis(histogram.getMaxValue()));
+		summary.put("latencyMillis", percentiles);
+		return summary;
+	}
+
+	private static void writeHistogram(Path file, Histogram histogram) {
+		try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+			// Values are recorded in microseconds; the output is scaled to milliseconds
+			histogram.outputPercentileDistribution(out, 1000.0);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not write " + file, e);
+		}
+	}
+
+	private static void writeTimeline(Path file, List<TimelineRow> timeline) throws IOException {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+			out.println("second,completed,errors,inFlight,p50Millis,p99Millis,maxMillis");
+			for (TimelineRow row : timeline) {
+				out.printf(
+					Locale.ROOT,
+					"%d,%d,%d,%d,%.3f,%.3f,%.3f%n",
+					row.second(),
+					row.completed(),
+					row.errors(),
+					row.inFlight(),
+					millis(row.p50Micros()),
+					millis(row.p99Micros()),
+					millis(row.maxMicros())
+				);
+			}
+		}
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+}
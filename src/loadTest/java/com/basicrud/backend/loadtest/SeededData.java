@@ -0,0 +1,35 @@
+package com.basicrud.backend.loadtest;
+
+/**
+ * What the load generator needs to know about the seeded dataset. Users with an index below
+ * tokenUsers have tokens; requests are spread over those users.
+ */
+record SeededData(
+	int users,
+	String[] accessTokens,
+	String[] refreshTokens,
+	String deepFeedCursor
+) {
+	static final String PASSWORD = "LoadTest-Passw0rd!";
+
+	int tokenUsers() {
+		return accessTokens.length;
+	}
+
+	// Users are seeded with ids 1..users, in the same order as the token arrays
+	long userId(int user) {
+		return user + 1L;
+	}
+
+	String email(int user) {
+		return "user-" + userId(user) + "@example.com";
+	}
+
+	String accessToken(int user) {
+		return accessTokens[user];
+	}
+
+	String refreshToken(int user) {
+		return refreshTokens[user];
+	}
+}
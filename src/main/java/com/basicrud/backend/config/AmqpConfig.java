@@ -0,0 +1,58 @@
+package com.basicrud.backend.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.basicrud.backend.events.UserCreatedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Declarations are only sent to the broker when a connection is first opened
+@Configuration
+public class AmqpConfig {
+    @Bean
+    public TopicExchange userEventsExchange(@Value("${events.exchange:user.events}") String name) {
+        return new TopicExchange(name, true, false);
+    }
+
+    // Event payloads are JSON; listeners receive them as the record type of their parameter
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "events.listeners.enabled", havingValue = "true")
+    static class ListenerQueues {
+        // Shared by every instance, so each welcome mail is sent by exactly one consumer
+        @Bean
+        public Queue welcomeMailQueue(@Value("${events.welcomeMail.queue:user.created.welcome-mail}") String name) {
+            return QueueBuilder.durable(name).build();
+        }
+
+        @Bean
+        public Binding welcomeMailBinding(Queue welcomeMailQueue, TopicExchange userEventsExchange) {
+            return BindingBuilder.bind(welcomeMailQueue).to(userEventsExchange).with(UserCreatedEvent.TYPE);
+        }
+
+        // One exclusive, auto-deleted queue per instance, because every instance warms its own cache
+        @Bean
+        public AnonymousQueue userCacheWarmingQueue() {
+            return new AnonymousQueue();
+        }
+
+        @Bean
+        public Binding userCacheWarmingBinding(AnonymousQueue userCacheWarmingQueue, TopicExchange userEventsExchange) {
+            return BindingBuilder.bind(userCacheWarmingQueue).to(userEventsExchange).with(UserCreatedEvent.TYPE);
+        }
+    }
+}
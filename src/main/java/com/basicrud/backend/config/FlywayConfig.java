@@ -0,0 +1,17 @@
+package com.basicrud.backend.config;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+    // Migrations that build indexes CONCURRENTLY wait for every open transaction, including the one
+    // holding a transaction-scoped migration lock, so Flyway takes a session-level lock instead
+    @Bean
+    public FlywayConfigurationCustomizer sessionLevelMigrationLock() {
+        return configuration -> configuration.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+}
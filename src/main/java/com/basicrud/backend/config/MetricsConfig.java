@@ -0,0 +1,62 @@
+package com.basicrud.backend.config;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import com.basicrud.backend.metrics.QueryCountInspector;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+@Configuration
+public class MetricsConfig {
+    // Ordered first so customizers that run later can wrap this inspector instead of replacing it
+    @Bean
+    @Order(0)
+    public HibernatePropertiesCustomizer queryCountInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    // Percentile histograms for the hot-path timers, each with a bucket range that fits what it measures,
+    // so Prometheus can aggregate percentiles across instances without hundreds of buckets per series
+    @Bean
+    public MeterFilter hotPathHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                DistributionStatisticConfig histogram = histogramFor(id.getName());
+                return histogram != null ? histogram.merge(config) : config;
+            }
+        };
+    }
+
+    private static DistributionStatisticConfig histogramFor(String name) {
+        return switch (name) {
+            case "jwt.verify", "jwt.generate" -> timerHistogram(Duration.ofNanos(1_000), Duration.ofMillis(100));
+            case "user.lookup" -> timerHistogram(Duration.ofNanos(1_000), Duration.ofSeconds(1));
+            case "password.hashing.duration" -> timerHistogram(Duration.ofMillis(1), Duration.ofSeconds(5));
+            case "refresh.token.writer.flush", "refresh.token.writer.direct" ->
+                timerHistogram(Duration.ofMillis(1), Duration.ofSeconds(5));
+            case "http.server.requests" -> timerHistogram(Duration.ofMillis(1), Duration.ofSeconds(10));
+            // Statement counts are small integers, so a handful of fixed buckets describes them exactly enough
+            case "http.server.requests.queries" -> DistributionStatisticConfig.builder()
+                .serviceLevelObjectives(0, 1, 2, 3, 5, 10, 20, 50, 100)
+                .build();
+            default -> null;
+        };
+    }
+
+    private static DistributionStatisticConfig timerHistogram(Duration minimum, Duration maximum) {
+        return DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .minimumExpectedValue((double) minimum.toNanos())
+            .maximumExpectedValue((double) maximum.toNanos())
+            .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.basicrud.backend.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections everywhere else.
+ * The decision is taken from the transaction itself rather than from Connection.setReadOnly, which
+ * Hibernate skips unless it holds its connection for the whole session. Placed behind a
+ * LazyConnectionDataSourceProxy, it runs when the first statement does, after the transaction manager
+ * has published whether the transaction is read-only.
+ */
+public class ReadOnlyTransactionRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    public ReadOnlyTransactionRoutingDataSource(DataSource primary, DataSource replicas) {
+        setTargetDataSources(Map.<Object, Object>of(PRIMARY, primary, REPLICA, replicas));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+}
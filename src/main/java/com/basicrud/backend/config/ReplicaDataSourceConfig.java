@@ -0,0 +1,93 @@
+package com.basicrud.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to replicas and everything else to the primary.
+ * Only active when datasource.replicas.urls is set; otherwise Spring Boot's single DataSource is used.
+ * The connection is picked when the first statement runs, from whether the current transaction is
+ * read-only, so @Transactional(readOnly = true) is the only switch callers need.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(
+        DataSourceProperties properties,
+        HikariDataSource primaryDataSource,
+        MeterRegistry meterRegistry,
+        @Value("${datasource.replicas.urls}") List<String> urls,
+        @Value("${datasource.replicas.maximumPoolSize:10}") int maximumPoolSize,
+        @Value("${datasource.replicas.maxLagInMillis:1000}") long maxLagInMillis,
+        @Value("${datasource.replicas.maxReceiverSilenceInMillis:60000}") long maxReceiverSilenceInMillis
+    ) {
+        // Replicas share the primary's credentials and driver
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(urls.get(i))
+                .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            // Shows up in pg_stat_activity, so replica sessions can be told apart from primary ones
+            replica.addDataSourceProperty("ApplicationName", replica.getPoolName());
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routingDataSource =
+            new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagInMillis, maxReceiverSilenceInMillis);
+        Gauge.builder("datasource.replicas.healthy", routingDataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+            .description("Replicas currently receiving read-only transactions")
+            .register(meterRegistry);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        // The lazy proxy defers the routing decision until the transaction has started
+        return new LazyConnectionDataSourceProxy(
+            new ReadOnlyTransactionRoutingDataSource(primaryDataSource, replicaDataSource)
+        );
+    }
+
+    // Hibernate otherwise keeps a session's connection until the session closes. With open-in-view that is
+    // the whole request, so a write after a read-only transaction would reuse the replica connection.
+    // Releasing it after each transaction means every transaction is routed on its own
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(
+            AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package com.basicrud.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Read-only DataSource that spreads connections round-robin over the replicas whose replication lag
+ * is within bounds. Lag is sampled periodically; a replica that is lagging, disconnected from the
+ * primary, unreachable or fails to hand out a connection is skipped until a later check finds it
+ * healthy again, and while no replica is healthy connections come from the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Zero once everything received has been replayed, so an idle but caught-up replica is not
+    // reported as lagging, and a server that is not a standby counts as caught up. Having replayed
+    // everything received says nothing when nothing is being received, so a standby whose WAL
+    // receiver is not streaming, or has heard nothing from the primary (not even a keepalive) for
+    // longer than the given number of milliseconds, reports NULL and counts as lagging
+    private static final String LAG_SQL_TEMPLATE =
+        "SELECT CASE " +
+        "WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming' " +
+        "AND last_msg_receipt_time > now() - %d * interval '1 millisecond') THEN NULL " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagInMillis;
+    private final String lagSql;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        List<DataSource> replicas,
+        long maxLagInMillis,
+        long maxReceiverSilenceInMillis
+    ) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagInMillis = maxLagInMillis;
+        this.lagSql = String.format(LAG_SQL_TEMPLATE, maxReceiverSilenceInMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.lagCheckIntervalInMillis:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = measureLag(replica) <= maxLagInMillis;
+            if (healthy != replica.healthy) {
+                log.info("Replica {} is now {}", replicas.indexOf(replica), healthy ? "in rotation" : "out of rotation");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Connection route(ConnectionFactory factory) throws SQLException {
+        int size = replicas.size();
+        if (size == 0) {
+            return factory.getConnection(primary);
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                return factory.getConnection(replica.dataSource);
+            } catch (SQLException e) {
+                // Taken out of rotation until the next lag check succeeds
+                replica.healthy = false;
+                log.warn("Replica {} refused a connection, trying the next one", (start + i) % size, e);
+            }
+        }
+        return factory.getConnection(primary);
+    }
+
+    private long measureLag(Replica replica) {
+        try (
+            Connection connection = replica.dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(lagSql)
+        ) {
+            resultSet.next();
+            long lag = resultSet.getLong(1);
+            return resultSet.wasNull() ? Long.MAX_VALUE : lag;
+        } catch (SQLException e) {
+            log.debug("Lag check failed for replica {}", replicas.indexOf(replica), e);
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        Connection getConnection(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        // Out of rotation until the first lag check has seen it
+        private volatile boolean healthy;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
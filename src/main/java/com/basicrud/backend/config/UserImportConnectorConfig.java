@@ -0,0 +1,25 @@
+package com.basicrud.backend.config;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The bulk import is only authorized on this extra connector, which must stay on the internal network
+@Configuration
+@ConditionalOnProperty(name = "userImport.enabled", havingValue = "true")
+public class UserImportConnectorConfig {
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> userImportConnector(
+        @Value("${userImport.port:8082}") int port
+    ) {
+        return factory -> {
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(port);
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+}
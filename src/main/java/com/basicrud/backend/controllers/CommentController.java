@@ -0,0 +1,53 @@
+package com.basicrud.backend.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.basicrud.backend.domain.Comment;
+import com.basicrud.backend.dto.CommentCreateRequest;
+import com.basicrud.backend.dto.CommentCreatedResponse;
+import com.basicrud.backend.dto.CommentPageResponse;
+import com.basicrud.backend.services.CommentService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/posts/{postId}/comments")
+public class CommentController {
+    private final CommentService commentService;
+
+    @Autowired
+    public CommentController(CommentService commentService) {
+        this.commentService = commentService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CommentPageResponse> getComments(
+        @PathVariable Long postId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + CommentService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok(commentService.getComments(postId, cursor, size));
+    }
+
+    @PostMapping
+    public ResponseEntity<CommentCreatedResponse> createComment(
+        @PathVariable Long postId,
+        @AuthenticationPrincipal UserDetails userDetails,
+        @Valid @RequestBody CommentCreateRequest request
+    ) {
+        Comment comment = commentService.createComment(postId, Long.parseLong(userDetails.getUsername()), request);
+        CommentCreatedResponse response = new CommentCreatedResponse(comment.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
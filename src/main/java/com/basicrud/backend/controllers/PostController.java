@@ -0,0 +1,57 @@
+package com.basicrud.backend.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.basicrud.backend.domain.Post;
+import com.basicrud.backend.dto.PostCreateRequest;
+import com.basicrud.backend.dto.PostCreatedResponse;
+import com.basicrud.backend.dto.PostDetailResponse;
+import com.basicrud.backend.dto.PostFeedResponse;
+import com.basicrud.backend.services.PostService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/posts")
+public class PostController {
+    private final PostService postService;
+
+    @Autowired
+    public PostController(PostService postService) {
+        this.postService = postService;
+    }
+
+    @GetMapping
+    public ResponseEntity<PostFeedResponse> getFeed(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok(postService.getFeed(cursor, size));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PostDetailResponse> getPostById(@PathVariable Long id) {
+        return ResponseEntity.ok(postService.getPost(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<PostCreatedResponse> createPost(
+        @AuthenticationPrincipal UserDetails userDetails,
+        @Valid @RequestBody PostCreateRequest request
+    ) {
+        Post post = postService.createPost(Long.parseLong(userDetails.getUsername()), request);
+        PostCreatedResponse response = new PostCreatedResponse(post.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.basicrud.backend.controllers;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.basicrud.backend.services.UserImportService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Only mapped while a migration is running, so the endpoint does not exist in normal operation
+@RestController
+@RequestMapping("/api/users")
+@ConditionalOnProperty(name = "userImport.enabled", havingValue = "true")
+public class UserImportController {
+    private final UserImportService userImportService;
+
+    @Autowired
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    // The body is read and the report written as streams, so neither is buffered in memory.
+    // Writing to the response directly keeps a long import off the async request timeout
+    @PostMapping(
+        value = "/import",
+        consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE },
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        userImportService.importUsers(request.getInputStream(), response.getOutputStream());
+    }
+}
@@ -11,10 +11,17 @@ import java.time.ZoneOffset;
  * This class is mapped to the 'comments' table in the database.
  */
 @Entity
-@Table(name = "comments")
+@Table(
+    name = "comments",
+    indexes = {
+        // Keyset pagination of the comments under a single post
+        @Index(name = "idx_comments_post_id_created_at_id", columnList = "post_id, created_at, id")
+    }
+)
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Comment content cannot be blank")
@@ -26,7 +33,7 @@ public class Comment {
      * Establishes a Many-to-One relationship with the User entity.
      * This links a single comment to the user who wrote it.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -34,7 +41,7 @@ public class Comment {
      * Establishes a Many-to-One relationship with the Post entity.
      * This links a single comment to the post it belongs to.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
@@ -8,10 +8,18 @@ import java.time.ZoneOffset;
 
 
 @Entity
-@Table(name = "posts")
+@Table(
+    name = "posts",
+    indexes = {
+        // Keyset pagination of the global feed and of a single author's posts
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_posts_user_id_created_at_id", columnList = "user_id, created_at DESC, id DESC")
+    }
+)
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -20,7 +28,7 @@ public class Post {
      * The @JoinColumn annotation specifies the foreign key column ('user_id')
      * in the 'posts' table that links to the primary key of the 'users' table.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -33,6 +41,11 @@ public class Post {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // Maintained by CommentService in the same transaction that inserts the comment,
+    // so list views read it directly instead of running COUNT(*) per post
+    @Column(nullable = false)
+    private long commentCount;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -87,6 +100,14 @@ public class Post {
         this.id = id;
     }
 
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -103,6 +124,14 @@ public class Post {
         this.content = content;
     }
 
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
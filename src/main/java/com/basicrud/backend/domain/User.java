@@ -5,17 +5,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import org.hibernate.annotations.BatchSize;
+
 
 @Entity
 @Table(name = "users")
+// Lazy author proxies touched while iterating posts or comments are loaded with one IN query per batch
+@BatchSize(size = 50)
 public class User {
+    // IDs come from a pooled sequence rather than an IDENTITY column, so Hibernate knows them
+    // before the INSERT and can send many new rows in one JDBC batch. The allocation size is
+    // the default; with increment_size_mismatch_strategy=fix the sequence's INCREMENT BY wins
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nickname cannot be blank")
@@ -25,7 +34,8 @@ public class User {
 
     @NotBlank(message = "Email cannot be blank")
     @Email(message = "Invalid email format")
-    @Column(nullable = false, unique = true)
+    // Unique regardless of case through the ux_users_email_lower index (see db/migration)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank(message = "Password cannot be blank")
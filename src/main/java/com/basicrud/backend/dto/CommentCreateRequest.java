@@ -0,0 +1,11 @@
+package com.basicrud.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CommentCreateRequest(
+    @NotBlank(message = "Comment content cannot be blank")
+    @Size(min = 1, max = 500, message = "Comment must be between 1 and 500 characters")
+    String content
+) {
+}
@@ -0,0 +1,4 @@
+package com.basicrud.backend.dto;
+
+public record CommentCreatedResponse(Long id) {
+}
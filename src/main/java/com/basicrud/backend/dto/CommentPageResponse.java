@@ -0,0 +1,7 @@
+package com.basicrud.backend.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record CommentPageResponse(List<CommentResponse> comments, String nextCursor) {
+}
@@ -0,0 +1,12 @@
+package com.basicrud.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record CommentResponse(
+    Long id,
+    String content,
+    Long authorId,
+    String authorNickname,
+    LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.basicrud.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record PostCreateRequest(
+    @NotBlank(message = "Title cannot be blank")
+    @Size(min = 5, max = 255, message = "Title must be between 5 and 255 characters")
+    String title,
+
+    @NotBlank(message = "Content cannot be blank")
+    String content
+) {
+}
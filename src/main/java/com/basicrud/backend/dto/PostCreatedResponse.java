@@ -0,0 +1,4 @@
+package com.basicrud.backend.dto;
+
+public record PostCreatedResponse(Long id) {
+}
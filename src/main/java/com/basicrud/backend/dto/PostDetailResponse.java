@@ -0,0 +1,15 @@
+package com.basicrud.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record PostDetailResponse(
+    Long id,
+    String title,
+    String content,
+    Long authorId,
+    String authorNickname,
+    long commentCount,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.basicrud.backend.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record PostFeedResponse(List<PostSummaryResponse> posts, String nextCursor) {
+}
@@ -0,0 +1,14 @@
+package com.basicrud.backend.dto;
+
+import java.time.LocalDateTime;
+
+// List view of a post; deliberately excludes the TEXT content column
+public record PostSummaryResponse(
+    Long id,
+    String title,
+    Long authorId,
+    String authorNickname,
+    long commentCount,
+    LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,21 @@
+package com.basicrud.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One line of the NDJSON import report; row is the 1-based position of the record in the upload
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResult(
+    long row,
+    String email,
+    Status status,
+    Long id,
+    String message
+) {
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED,
+        ABORTED
+    }
+}
@@ -0,0 +1,65 @@
+package com.basicrud.backend.events;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records domain events in the outbox_event table.
+ * Appending never talks to the broker: the row commits or rolls back with the caller's
+ * transaction, and OutboxRelay publishes it later from a background thread.
+ */
+@Component
+public class EventOutbox {
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox_event (aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    @Autowired
+    public EventOutbox(
+        JdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper,
+        @Value("${events.outbox.enabled:false}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    // Must join the transaction that made the change, otherwise the event could outlive a rollback
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, long aggregateId, String eventType, Object payload) {
+        if (!enabled) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + eventType + " event", e);
+        }
+
+        jdbcTemplate.update(
+            INSERT_SQL,
+            aggregateType,
+            aggregateId,
+            eventType,
+            json,
+            Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC))
+        );
+    }
+}
@@ -0,0 +1,155 @@
+package com.basicrud.backend.events;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes outbox rows to RabbitMQ in batches.
+ * A batch is claimed with FOR UPDATE SKIP LOCKED, so several instances can relay concurrently,
+ * sent on one channel, and deleted only after the broker has confirmed every message in it.
+ * If the confirms fail or time out the transaction rolls back and the whole batch is sent again
+ * later, so delivery is at-least-once: consumers must tolerate duplicates, which carry the same
+ * message id (the outbox id).
+ */
+@Component
+@ConditionalOnProperty(name = "events.relay.enabled", havingValue = "true")
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String CLAIM_SQL =
+        "SELECT id, event_type, payload FROM outbox_event ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE_SQL = "DELETE FROM outbox_event WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final int batchSize;
+    private final long confirmTimeoutInMillis;
+    private final long maxBackoffInMillis;
+    private final Counter published;
+    private final Counter failedBatches;
+    private final Timer batchDuration;
+
+    private long backoffInMillis;
+    private long nextAttemptAt;
+
+    @Autowired
+    public OutboxRelay(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        RabbitTemplate rabbitTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${events.exchange:user.events}") String exchange,
+        @Value("${events.relay.batchSize:100}") int batchSize,
+        @Value("${events.relay.confirmTimeoutInMillis:5000}") long confirmTimeoutInMillis,
+        @Value("${events.relay.maxBackoffInMillis:30000}") long maxBackoffInMillis
+    ) {
+        ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        if (!connectionFactory.isSimplePublisherConfirms()) {
+            throw new IllegalStateException("events.relay.enabled requires spring.rabbitmq.publisher-confirm-type=simple");
+        }
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.batchSize = batchSize;
+        this.confirmTimeoutInMillis = confirmTimeoutInMillis;
+        this.maxBackoffInMillis = maxBackoffInMillis;
+        this.published = Counter.builder("events.relay.published")
+            .description("Outbox events confirmed by the broker")
+            .register(meterRegistry);
+        this.failedBatches = Counter.builder("events.relay.failed")
+            .description("Outbox batches rolled back because publishing or confirming failed")
+            .register(meterRegistry);
+        this.batchDuration = Timer.builder("events.relay.batch")
+            .description("Time spent claiming, publishing and deleting one batch")
+            .register(meterRegistry);
+    }
+
+    // Single-threaded: Spring never overlaps runs of one fixed-delay task, so the backoff fields need no locking
+    @Scheduled(fixedDelayString = "${events.relay.fixedDelayInMillis:200}")
+    public void relay() {
+        if (System.currentTimeMillis() < nextAttemptAt) {
+            return;
+        }
+
+        try {
+            // Keep going while batches come back full, so a backlog drains without waiting for the next run
+            int relayed;
+            do {
+                Timer.Sample sample = Timer.start();
+                relayed = transactionTemplate.execute(status -> relayBatch());
+                sample.stop(batchDuration);
+            } while (relayed == batchSize);
+            backoffInMillis = 0;
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            backoffInMillis = Math.min(maxBackoffInMillis, Math.max(1_000, backoffInMillis * 2));
+            nextAttemptAt = System.currentTimeMillis() + backoffInMillis;
+            log.warn("Publishing outbox events failed, retrying in {} ms: {}", backoffInMillis, e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<PendingEvent> events = jdbcTemplate.query(
+            CLAIM_SQL,
+            (rs, rowNum) -> new PendingEvent(rs.getLong("id"), rs.getString("event_type"), rs.getString("payload")),
+            batchSize
+        );
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Everything in the batch goes out on one channel and is confirmed with a single wait
+        rabbitTemplate.invoke(operations -> {
+            for (PendingEvent event : events) {
+                operations.send(exchange, event.type(), event.toMessage());
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutInMillis);
+            return null;
+        });
+
+        Long[] ids = events.stream().map(PendingEvent::id).toArray(Long[]::new);
+        jdbcTemplate.update(DELETE_SQL, ps -> {
+            Array array = ps.getConnection().createArrayOf("bigint", ids);
+            ps.setArray(1, array);
+        });
+        published.increment(events.size());
+        return events.size();
+    }
+
+    private record PendingEvent(long id, String type, String payload) {
+        Message toMessage() {
+            MessageProperties properties = new MessageProperties();
+            properties.setMessageId(Long.toString(id));
+            properties.setType(type);
+            properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+            properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+            return new Message(payload.getBytes(StandardCharsets.UTF_8), properties);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.basicrud.backend.events;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.services.UserDetailsCache;
+
+/**
+ * Loads a new user into this instance's authentication cache, so the first login and the first
+ * authenticated requests after registering do not start with a cache miss.
+ */
+@Component
+@ConditionalOnProperty(name = "events.listeners.enabled", havingValue = "true")
+public class UserCacheWarmingListener {
+    private final UserDetailsCache userDetailsCache;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public UserCacheWarmingListener(UserDetailsCache userDetailsCache, UserRepository userRepository) {
+        this.userDetailsCache = userDetailsCache;
+        this.userRepository = userRepository;
+    }
+
+    @RabbitListener(queues = "#{userCacheWarmingQueue.name}")
+    public void onUserCreated(UserCreatedEvent event) {
+        // Fills the by-email entry as well. A replica that has not caught up yet finds nothing,
+        // which is not cached, so the user is simply loaded on first use instead
+        userDetailsCache.getById(event.userId(), userRepository::findById);
+    }
+}
@@ -0,0 +1,8 @@
+package com.basicrud.backend.events;
+
+/**
+ * Published once a registration has committed.
+ */
+public record UserCreatedEvent(Long userId, String nickname, String email) {
+    public static final String TYPE = "user.created";
+}
@@ -0,0 +1,52 @@
+package com.basicrud.backend.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the welcome mail for a new registration.
+ * A failed send is retried by the listener container (spring.rabbitmq.listener.simple.retry.*);
+ * a redelivered event may send the mail twice, which is preferred over losing it.
+ */
+@Component
+@ConditionalOnProperty(name = "events.listeners.enabled", havingValue = "true")
+public class WelcomeMailListener {
+    private static final Logger log = LoggerFactory.getLogger(WelcomeMailListener.class);
+
+    // Absent unless spring.mail.host is set
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final String from;
+
+    @Autowired
+    public WelcomeMailListener(
+        ObjectProvider<JavaMailSender> mailSender,
+        @Value("${events.welcomeMail.from:no-reply@example.com}") String from
+    ) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @RabbitListener(queues = "${events.welcomeMail.queue:user.created.welcome-mail}")
+    public void onUserCreated(UserCreatedEvent event) {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            log.debug("No mail sender configured, skipping the welcome mail for user {}", event.userId());
+            return;
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(event.email());
+        message.setSubject("Welcome, " + event.nickname());
+        message.setText("Hi " + event.nickname() + ",\n\nyour account has been created. Welcome aboard!");
+        sender.send(message);
+    }
+}
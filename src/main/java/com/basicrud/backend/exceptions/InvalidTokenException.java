@@ -0,0 +1,7 @@
+package com.basicrud.backend.exceptions;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -6,9 +6,12 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.basicrud.backend.exceptions.ConflictException;
 import com.basicrud.backend.exceptions.ErrorMessage;
 import com.basicrud.backend.exceptions.InvalidRequestDataException;
+import com.basicrud.backend.exceptions.InvalidTokenException;
 import com.basicrud.backend.exceptions.ResourceNotFoundException;
+import com.basicrud.backend.exceptions.ServiceBusyException;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -21,7 +24,8 @@ public class GlobalExceptionHandler {
         value = {
             MalformedJwtException.class,
             ExpiredJwtException.class,
-            UnsupportedJwtException.class
+            UnsupportedJwtException.class,
+            InvalidTokenException.class
         }
     )
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
@@ -68,6 +72,28 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorMessage handleConflictException(ConflictException e) {
+        return new ErrorMessage(
+            HttpStatus.CONFLICT.value(),
+            new java.util.Date(),
+            e.getMessage(),
+            "Resource already exists"
+        );
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorMessage handleServiceBusyException(ServiceBusyException e) {
+        return new ErrorMessage(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            new java.util.Date(),
+            e.getMessage(),
+            "Service temporarily overloaded"
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorMessage handleGenericException(Exception e) {
@@ -0,0 +1,70 @@
+package com.basicrud.backend.metrics;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request ran, per route.
+ * Runs ahead of the security filters so the user lookup during authentication is included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+    // Requests that matched no handler mapping (404s, static resources) share one series
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    private static final Set<String> KNOWN_METHODS = Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Route, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryCountInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long queries = QueryCountInspector.stop();
+            summary(request).record(queries);
+        }
+    }
+
+    private DistributionSummary summary(HttpServletRequest request) {
+        // The route template ("/api/users/{id}"), never the raw path, keeps the tag values bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = KNOWN_METHODS.contains(request.getMethod()) ? request.getMethod() : "OTHER";
+        Route route = new Route(method, pattern != null ? pattern.toString() : UNKNOWN_ROUTE);
+        return summaries.computeIfAbsent(route, key -> DistributionSummary.builder("http.server.requests.queries")
+            .description("SQL statements run by Hibernate while serving one request")
+            .tag("method", key.method())
+            .tag("uri", key.uri())
+            .register(meterRegistry));
+    }
+
+    private record Route(String method, String uri) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.basicrud.backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a count is open.
+ * Statements run outside Hibernate (JdbcTemplate, the refresh-token writer) are not seen.
+ */
+public class QueryCountInspector implements StatementInspector {
+    // One mutable slot per request thread, so counting a statement allocates nothing
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    // Returns the number of statements since start() and closes the count
+    public static long stop() {
+        long[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0L;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
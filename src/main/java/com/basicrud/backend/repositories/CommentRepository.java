@@ -0,0 +1,39 @@
+package com.basicrud.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.basicrud.backend.domain.Comment;
+import com.basicrud.backend.dto.CommentResponse;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+    // Authors are joined into the projection, so a page of comments is one statement
+    @Query(
+        "SELECT new com.basicrud.backend.dto.CommentResponse(c.id, c.content, u.id, u.nickname, c.createdAt) " +
+        "FROM Comment c JOIN c.user u " +
+        "WHERE c.post.id = :postId " +
+        "ORDER BY c.createdAt ASC, c.id ASC"
+    )
+    List<CommentResponse> findPage(@Param("postId") Long postId, Pageable pageable);
+
+    // Seek predicate on (created_at, id), served by idx_comments_post_id_created_at_id
+    @Query(
+        "SELECT new com.basicrud.backend.dto.CommentResponse(c.id, c.content, u.id, u.nickname, c.createdAt) " +
+        "FROM Comment c JOIN c.user u " +
+        "WHERE c.post.id = :postId AND (c.createdAt, c.id) > (:createdAt, :id) " +
+        "ORDER BY c.createdAt ASC, c.id ASC"
+    )
+    List<CommentResponse> findPageAfter(
+        @Param("postId") Long postId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+}
@@ -0,0 +1,52 @@
+package com.basicrud.backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.basicrud.backend.domain.Post;
+import com.basicrud.backend.dto.PostDetailResponse;
+import com.basicrud.backend.dto.PostSummaryResponse;
+
+@Repository
+public interface PostRepository extends JpaRepository<Post, Long> {
+    @Query(
+        "SELECT new com.basicrud.backend.dto.PostSummaryResponse(p.id, p.title, u.id, u.nickname, p.commentCount, p.createdAt) " +
+        "FROM Post p JOIN p.user u " +
+        "ORDER BY p.createdAt DESC, p.id DESC"
+    )
+    List<PostSummaryResponse> findFeed(Pageable pageable);
+
+    // Seek predicate on (created_at, id), served by idx_posts_created_at_id
+    @Query(
+        "SELECT new com.basicrud.backend.dto.PostSummaryResponse(p.id, p.title, u.id, u.nickname, p.commentCount, p.createdAt) " +
+        "FROM Post p JOIN p.user u " +
+        "WHERE (p.createdAt, p.id) < (:createdAt, :id) " +
+        "ORDER BY p.createdAt DESC, p.id DESC"
+    )
+    List<PostSummaryResponse> findFeedBefore(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query(
+        "SELECT new com.basicrud.backend.dto.PostDetailResponse(" +
+        "p.id, p.title, p.content, u.id, u.nickname, p.commentCount, p.createdAt, p.updatedAt) " +
+        "FROM Post p JOIN p.user u " +
+        "WHERE p.id = :id"
+    )
+    Optional<PostDetailResponse> findDetailById(@Param("id") Long id);
+
+    // A relative update, so concurrent comments on the same post never lose an increment
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + 1 WHERE p.id = :id")
+    int incrementCommentCount(@Param("id") Long id);
+}
@@ -3,11 +3,19 @@ package com.basicrud.backend.repositories;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.basicrud.backend.domain.RefreshToken;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-
+    // Unlike deleteById, reports whether a row was actually removed
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id = :id")
+    int removeById(@Param("id") UUID id);
 }
@@ -2,17 +2,39 @@ package com.basicrud.backend.repositories;
 
 import com.basicrud.backend.domain.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository  // Optional, but recommended for clarity
+// Finders run read-only and can be served by a replica; inherited writes keep their own read-write settings
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
-    boolean existsByEmail(String email);
+    // Email lookups compare lower(email), so they match the case-insensitive unique index
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE lower(u.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
     boolean existsByNickname(String nickname);
     boolean existsById(Long id);
 
-    Optional<User> findByEmail(String email);
+    @Query("SELECT u FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<User> findByEmail(@Param("email") String email);
     Optional<User> findByNickname(String nickname);
+
+    // One round-trip checks a whole batch of candidate emails; both sides are lower-cased
+    @Query("SELECT lower(u.email) FROM User u WHERE lower(u.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> lowerCaseEmails);
+
+    // Writes the column directly: entities loaded through this repository are read-only and a
+    // changed password on them would never be flushed
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,49 @@
+package com.basicrud.backend.security;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt work factor for this host by timing hashes at the minimum strength
+ * and doubling from there, since every extra round doubles the cost.
+ */
+public final class BCryptStrengthCalibrator {
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "Calibration-Passw0rd!";
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(SAMPLE_PASSWORD); // Warm-up
+
+        // The fastest sample is the one least disturbed by other startup work
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            probe.encode(SAMPLE_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - startedAt);
+        }
+
+        int strength = minStrength;
+        long estimated = fastest;
+        while (strength < maxStrength && estimated * 2 <= targetLatency.toNanos()) {
+            estimated *= 2;
+            strength++;
+        }
+
+        log.warn(
+            "Using calibrated BCrypt strength {} (about {} ms per hash, target {} ms); "
+                + "pin it with passwordHashing.bcrypt.strength on every instance",
+            strength,
+            estimated / 1_000_000,
+            targetLatency.toMillis()
+        );
+        return strength;
+    }
+}
@@ -0,0 +1,115 @@
+package com.basicrud.backend.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.basicrud.backend.exceptions.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs password hashing on a dedicated, bounded pool of platform threads.
+ * Hashing is deliberately CPU-expensive, so a burst of logins is capped at the pool size
+ * instead of occupying every request thread, and work beyond the queue limit is rejected
+ * immediately with a ServiceBusyException (mapped to 503) rather than piling up.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(
+        PasswordEncoder delegate,
+        int threads,
+        int queueCapacity,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("password-hasher-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejected = Counter.builder("password.hashing.rejected")
+            .description("Password operations rejected because the hashing pool was saturated")
+            .register(meterRegistry);
+        Gauge.builder("password.hashing.queue", executor, e -> e.getQueue().size())
+            .description("Password operations waiting for a hashing thread")
+            .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing.duration")
+            .description("Wall-clock time a pool thread spent hashing or verifying one password, excluding queueing")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, so there is no need to offload it
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many concurrent password checks, please try again later");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
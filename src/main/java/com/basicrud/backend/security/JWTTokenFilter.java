@@ -4,8 +4,14 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.authentication.*;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -13,16 +19,74 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.basicrud.backend.services.CustomUserDetailsService;
-import com.basicrud.backend.utils.JWTUtils;
+import com.basicrud.backend.utils.RateLimitedLog;
+import com.basicrud.backend.utils.TokenVerification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
 
 @Component
 public class JWTTokenFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(JWTTokenFilter.class);
+
+    private enum AuthenticationFailure {
+        // A valid token whose user has since been deleted
+        USER_NOT_FOUND,
+        ERROR
+    }
+
     @Autowired
-    private JWTUtils jwtUtils;
+    private VerifiedTokenCache verifiedTokenCache;
     @Autowired
     private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private RevokedUserRegistry revokedUserRegistry;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Value("${jwt.statelessPrincipal:false}")
+    private boolean statelessPrincipal;
+    // Initialized for instances built outside Spring; the injected value overrides it
+    @Value("${jwt.failureLog.intervalInMillis:" + RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS + "}")
+    private long failureLogIntervalInMillis = RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS;
+    private RateLimitedLog<AuthenticationFailure> failureLog;
+    private Counter authenticated;
+    private Counter anonymous;
+    private Counter rejected;
+    private Counter failed;
+
+    @PostConstruct
+    public void init() {
+        this.authenticated = outcomeCounter("authenticated");
+        this.anonymous = outcomeCounter("anonymous");
+        this.rejected = outcomeCounter("rejected");
+        this.failed = outcomeCounter("error");
+        this.failureLog = new RateLimitedLog<>(
+            log,
+            AuthenticationFailure.class,
+            Duration.ofMillis(failureLogIntervalInMillis)
+        );
+    }
+
+    @Scheduled(
+        fixedRateString = "${jwt.failureLog.intervalInMillis:" + RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS + "}",
+        initialDelayString = "${jwt.failureLog.intervalInMillis:" + RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS + "}"
+    )
+    public void logFailureSummary() {
+        failureLog.logSummary();
+    }
+
+    // anonymous: no bearer token, rejected: invalid token or revoked user, error: the lookup threw
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("jwt.filter.requests")
+            .description("Requests seen by the JWT filter, by authentication outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -32,10 +96,11 @@ public class JWTTokenFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String userId = jwtUtils.getUserIdFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
-
+            TokenVerification verification = jwt != null ? verifiedTokenCache.verify(jwt) : null;
+            UserDetails userDetails = verification != null && verification.isValid()
+                ? loadUserDetails(verification)
+                : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -44,13 +109,41 @@ public class JWTTokenFilter extends OncePerRequestFilter {
                     );
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                authenticated.increment();
+            } else if (jwt == null) {
+                anonymous.increment();
+            } else {
+                rejected.increment();
             }
+        } catch (UsernameNotFoundException e) {
+            rejected.increment();
+            failureLog.log(AuthenticationFailure.USER_NOT_FOUND, "Cannot set user authentication: {}", e.getMessage());
         } catch (Exception e) {
-            System.out.println("Cannot set user authentication: " + e);
+            failed.increment();
+            failureLog.log(AuthenticationFailure.ERROR, "Cannot set user authentication: {}", e.toString(), e);
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails loadUserDetails(TokenVerification verification) {
+        // Only refresh tokens carry an ID; they are exchanged at /api/auth/refresh and never accepted as access tokens
+        if (verification.tokenId() != null) {
+            return null;
+        }
+
+        if (!statelessPrincipal) {
+            // The subject is always a user ID, so skip loadUserByUsername's classification
+            return userDetailsService.loadUserById(Long.parseLong(verification.subject()));
+        }
+
+        // Build the principal from the verified claims instead of fetching the user row
+        if (revokedUserRegistry.isRevoked(verification.subject(), verification.issuedAt())) {
+            return null;
+        }
+
+        return new User(verification.subject(), "", Collections.emptyList());
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (headerAuth != null && headerAuth.startsWith("Bearer ")) {
@@ -0,0 +1,45 @@
+package com.basicrud.backend.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived, in-memory denylist of users whose access tokens must no longer be accepted.
+ * Tokens issued at or before the revocation instant are rejected. An entry is only needed
+ * for one access-token lifetime, after which every token it could match has expired anyway.
+ * Revocations are not shared between instances: with several nodes and jwt.statelessPrincipal
+ * enabled, the other nodes keep accepting the user's access tokens until they expire.
+ */
+@Component
+public class RevokedUserRegistry {
+    private final ConcurrentMap<String, Instant> revokedAt = new ConcurrentHashMap<>();
+    private final Duration retention;
+
+    public RevokedUserRegistry(@Value("${jwt.accessExpirationInMinutes}") int jwtAccessExpirationInMinutes) {
+        this.retention = Duration.ofMinutes(jwtAccessExpirationInMinutes);
+    }
+
+    public void revoke(Long userId) {
+        Instant now = Instant.now();
+        revokedAt.put(userId.toString(), now);
+
+        // Drop entries that can no longer match an unexpired token
+        Instant cutoff = now.minus(retention);
+        revokedAt.values().removeIf(instant -> instant.isBefore(cutoff));
+    }
+
+    public boolean isRevoked(String subject, Instant issuedAt) {
+        Instant instant = revokedAt.get(subject);
+        if (instant == null) {
+            return false;
+        }
+
+        // 'iat' is truncated to the second, so a token issued later within the revocation second is rejected too
+        return issuedAt == null || !issuedAt.isAfter(instant);
+    }
+}
@@ -1,23 +1,40 @@
 package com.basicrud.backend.security;
 
+import java.time.Duration;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     @Autowired
     private AuthEntryPointJWT unauthorizedHandler;
+    @Value("${userImport.port:8082}")
+    private int userImportPort;
+    // -1 when the actuator shares server.port, in which case its endpoints need a token like any other
+    @Value("${management.server.port:-1}")
+    private int managementPort;
 
     @Bean
     public JWTTokenFilter authenticationJwtTokenFilter() {
@@ -31,9 +48,34 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(
+        MeterRegistry meterRegistry,
+        @Value("${passwordHashing.threads:0}") int threads,
+        @Value("${passwordHashing.queueCapacity:64}") int queueCapacity,
+        @Value("${passwordHashing.bcrypt.strength:12}") int strength,
+        @Value("${passwordHashing.bcrypt.targetMillis:250}") long targetMillis,
+        @Value("${passwordHashing.bcrypt.minStrength:12}") int minStrength,
+        @Value("${passwordHashing.bcrypt.maxStrength:14}") int maxStrength
+    ) {
+        // The strength must be the same on every instance: upgradeEncoding() rehashes anything weaker,
+        // so hosts calibrating to different values would keep raising each other's hashes.
+        // Calibration (strength 0) is meant to be run once per deployment and its result pinned
+        int bcryptStrength = strength > 0
+            ? strength
+            : BCryptStrengthCalibrator.calibrate(Duration.ofMillis(targetMillis), minStrength, maxStrength);
+
+        // Hashes are stored as "{bcrypt}..." from now on. Older hashes without the prefix still match,
+        // and upgradeEncoding() flags them (and any weaker strength) for rehashing on the next login
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(
+            "bcrypt",
+            Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength))
+        );
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+
+        // Hashing is CPU-bound, so by default run one hashing thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegatingEncoder, poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -48,16 +90,28 @@ public class SecurityConfig {
                 sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
+                // Bulk import creates accounts for anyone, so any user token is not enough:
+                // it is only accepted on the internal import connector
+                .requestMatchers("/api/users/import").access(authenticatedOnPort(userImportPort))
                 .requestMatchers(
                     "/api/users",
                     "/api/auth/login",
                     "/api/auth/register",
                     "/api/auth/refresh"
                 ).permitAll()
+                // The actuator is scraped without a token, but only on its own port, which is never exposed publicly
+                .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                 .anyRequest().authenticated() 
             );
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
+
+    private static AuthorizationManager<RequestAuthorizationContext> authenticatedOnPort(int port) {
+        return AuthorizationManagers.allOf(
+            AuthenticatedAuthorizationManager.authenticated(),
+            (authentication, context) -> new AuthorizationDecision(context.getRequest().getLocalPort() == port)
+        );
+    }
 }
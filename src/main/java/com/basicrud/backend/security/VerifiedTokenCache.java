@@ -0,0 +1,120 @@
+package com.basicrud.backend.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.basicrud.backend.utils.JWTUtils;
+import com.basicrud.backend.utils.TokenVerification;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of successfully verified access tokens.
+ * Entries are keyed by the SHA-256 digest of the token and expire exactly at the token's 'exp',
+ * so a token that is presented repeatedly is parsed and HMAC-verified only once.
+ * Rejected tokens are never cached.
+ */
+@Component
+public class VerifiedTokenCache {
+    private final JWTUtils jwtUtils;
+    private final Cache<TokenDigest, TokenVerification> cache;
+    private final MessageDigest digestPrototype;
+
+    @Autowired
+    public VerifiedTokenCache(
+        JWTUtils jwtUtils,
+        MeterRegistry meterRegistry,
+        @Value("${jwt.cache.maximumSize:100000}") long maximumSize
+    ) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ExpireAtTokenExpiration())
+            .recordStats()
+            .build();
+        this.digestPrototype = newSha256();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    public TokenVerification verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return jwtUtils.verify(token);
+        }
+
+        TokenDigest digest = digest(token);
+        TokenVerification cached = cache.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        TokenVerification verification = jwtUtils.verify(token);
+        if (verification.isValid()) {
+            cache.put(digest, verification);
+        }
+        return verification;
+    }
+
+    private TokenDigest digest(String token) {
+        MessageDigest sha256;
+        try {
+            // Cloning the prototype avoids a provider lookup on every request
+            sha256 = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            sha256 = newSha256();
+        }
+
+        ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record TokenDigest(long first, long second, long third, long fourth) {
+    }
+
+    private static class ExpireAtTokenExpiration implements Expiry<TokenDigest, TokenVerification> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, TokenVerification value, long currentTime) {
+            long millisLeft = value.expiration().toEpochMilli() - Instant.now().toEpochMilli();
+            return Math.max(0L, millisLeft) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(
+            TokenDigest key,
+            TokenVerification value,
+            long currentTime,
+            long currentDuration
+        ) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+            TokenDigest key,
+            TokenVerification value,
+            long currentTime,
+            long currentDuration
+        ) {
+            return currentDuration;
+        }
+    }
+}
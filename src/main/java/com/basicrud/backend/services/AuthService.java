@@ -3,19 +3,22 @@ package com.basicrud.backend.services;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
-import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.basicrud.backend.domain.RefreshToken;
 import com.basicrud.backend.domain.User;
 import com.basicrud.backend.dto.LoginResponse;
 import com.basicrud.backend.dto.UserCreateRequest;
+import com.basicrud.backend.exceptions.InvalidTokenException;
 import com.basicrud.backend.repositories.RefreshTokenRepository;
 import com.basicrud.backend.repositories.UserRepository;
 import com.basicrud.backend.utils.JWTUtils;
+import com.basicrud.backend.utils.TokenVerification;
+import com.basicrud.backend.utils.TokenVerification.FailureReason;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
@@ -24,6 +27,8 @@ import io.jsonwebtoken.Jws;
 public class AuthService {
     private final UserRepository userRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenWriter refreshTokenWriter;
+    private final RefreshTokenRegistry refreshTokenRegistry;
 
     private final UserService userService;
     private final JWTUtils jwtUtils;
@@ -32,11 +37,15 @@ public class AuthService {
     public AuthService(
         UserRepository userRepository, 
         RefreshTokenRepository refreshTokenRepository, 
+        RefreshTokenWriter refreshTokenWriter,
+        RefreshTokenRegistry refreshTokenRegistry,
         UserService userService,
         JWTUtils jwtUtils
     ) {
         this.userRepository = userRepository;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenWriter = refreshTokenWriter;
+        this.refreshTokenRegistry = refreshTokenRegistry;
         this.userService = userService;
         this.jwtUtils = jwtUtils;
     }
@@ -45,81 +54,67 @@ public class AuthService {
         return userService.createUser(request);
     }
 
+    // Read-write on purpose: a token issued moments ago may not have reached a read replica yet
+    @Transactional
     public String generateAccessToken(String refreshToken) {
-        if (validateRefreshToken(refreshToken) == false) {
-            throw new IllegalArgumentException("Invalid refresh token");
+        TokenVerification verification = jwtUtils.verify(refreshToken);
+        if (verification.failureReason() == FailureReason.EXPIRED) {
+            throw new InvalidTokenException("Refresh token has expired");
         }
 
-        Jws<Claims> claims = jwtUtils.getAllClaimsFromToken(refreshToken);
-        if (claims == null) {
-            throw new IllegalArgumentException("Invalid refresh token");
+        if (isStoredRefreshToken(verification) == false) {
+            throw new InvalidTokenException("Invalid refresh token");
         }
 
-        Date expiration = claims.getPayload().getExpiration();
-        if (expiration == null || expiration.before(new Date())) {
-            throw new IllegalArgumentException("Refresh token has expired");
-        }
-
-        String userId = claims.getPayload().getSubject();
-
         Date now = new Date();
-        return jwtUtils.generateAccessToken(userId, now);
+        return jwtUtils.generateAccessToken(verification.subject(), now);
     }
 
     // Generate both access and refresh tokens
     public LoginResponse generateTokens(Long userId) {
-        String refreshToken = generateRefreshToken(userId);
-        String accessToken = generateAccessToken(refreshToken);
+        // Both tokens are minted from the same data, the refresh token is never re-verified here
+        Date now = new Date();
+        String refreshToken = generateRefreshToken(userId, now);
+        String accessToken = jwtUtils.generateAccessToken(userId.toString(), now);
 
         return new LoginResponse(accessToken, refreshToken);
     }
 
     // Add methods to manage refresh tokens as needed
     public String generateRefreshToken(Long userId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new IllegalArgumentException("User not found");
-        }
-
-        User user = userOpt.get();
+        return generateRefreshToken(userId, new Date());
+    }
 
-        Date now = new Date();
+    private String generateRefreshToken(Long userId, Date now) {
         LocalDateTime issuedAt = now.toInstant().atZone(ZoneOffset.UTC).toLocalDateTime();
 
+        // A reference is enough to carry the foreign key, so the user row is never loaded
         RefreshToken refreshToken = new RefreshToken(
-            user,
+            userRepository.getReferenceById(userId),
             issuedAt
         );
+        refreshToken.setId(UUID.randomUUID());
 
-        refreshTokenRepository.save(refreshToken);
-        return jwtUtils.generateRefreshToken(user.getId().toString(), refreshToken.getId(), now);
+        refreshTokenWriter.write(refreshToken);
+        return jwtUtils.generateRefreshToken(userId.toString(), refreshToken.getId(), now);
     }
 
     public boolean validateAccessToken(String token) {
-        // Implementation for validating an access token
-        Jws<Claims> claims = jwtUtils.getAllClaimsFromToken(token);
-        if (claims == null) {
-            return false;
-        }
-
-        // Check if the token is expired
-        Date expiration = claims.getPayload().getExpiration();
-        if (expiration == null || expiration.before(new Date())) {
-            return false;
-        }
-
-        return true;
+        // Signature and expiration are both checked while the token is parsed
+        return jwtUtils.verify(token).isValid();
     }
 
     public boolean validateRefreshToken(String token) {
-        // Implementation for validating a refresh token
-        Jws<Claims> claims = jwtUtils.getAllClaimsFromToken(token);
-        if (claims == null) {
+        return isStoredRefreshToken(jwtUtils.verify(token));
+    }
+
+    private boolean isStoredRefreshToken(TokenVerification verification) {
+        if (verification.isValid() == false) {
             return false;
         }
 
         // Extract the token ID (jti) from the claims
-        String tokenId = claims.getPayload().getId();
+        String tokenId = verification.tokenId();
         if (tokenId == null || tokenId.isEmpty()) {
             return false;
         }
@@ -131,19 +126,13 @@ public class AuthService {
             return false;
         }
 
-        // Check if the token exists in the database
-        boolean storedToken = refreshTokenRepository.existsById(tokenUuid);
-        if (storedToken == false) {
+        // Tokens the local snapshot rules out are rejected without a database round-trip
+        if (refreshTokenRegistry.mightExist(tokenUuid, verification.issuedAt()) == false) {
             return false;
         }
 
-        // Check if the token is expired
-        Date expiration = claims.getPayload().getExpiration();
-        if (expiration == null || expiration.before(new Date())) {
-            return false;
-        }
-
-        return true;
+        // Check if the token is still queued for insertion or exists in the database
+        return refreshTokenWriter.isPending(tokenUuid) || refreshTokenRepository.existsById(tokenUuid);
     }
 
     public Jws<Claims> getClaimsFromToken(String token) {
@@ -157,6 +146,7 @@ public class AuthService {
         }
 
         String tokenId = claims.getPayload().getId();
+        Date issuedAt = claims.getPayload().getIssuedAt();
         if (tokenId == null || tokenId.isEmpty()) {
             throw new IllegalArgumentException("Invalid refresh token");
         }
@@ -168,6 +158,10 @@ public class AuthService {
             throw new IllegalArgumentException("Invalid refresh token");
         }
 
-        refreshTokenRepository.deleteById(uuid);
+        boolean cancelled = refreshTokenWriter.cancel(uuid);
+        boolean deleted = refreshTokenRepository.removeById(uuid) > 0;
+        if (cancelled || deleted) {
+            refreshTokenRegistry.remove(uuid, issuedAt == null ? null : issuedAt.toInstant());
+        }
     }
 }
@@ -0,0 +1,81 @@
+package com.basicrud.backend.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.basicrud.backend.domain.Comment;
+import com.basicrud.backend.dto.CommentCreateRequest;
+import com.basicrud.backend.dto.CommentPageResponse;
+import com.basicrud.backend.dto.CommentResponse;
+import com.basicrud.backend.exceptions.ResourceNotFoundException;
+import com.basicrud.backend.repositories.CommentRepository;
+import com.basicrud.backend.repositories.PostRepository;
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.utils.KeysetCursor;
+
+@Service
+public class CommentService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public CommentService(
+        CommentRepository commentRepository,
+        PostRepository postRepository,
+        UserRepository userRepository
+    ) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+    }
+
+    public CommentPageResponse getComments(Long postId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Read one extra row to learn whether another page exists without a COUNT query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<CommentResponse> comments;
+        if (cursor == null || cursor.isEmpty()) {
+            comments = commentRepository.findPage(postId, limit);
+            // Only an empty first page needs to tell "no comments" apart from "no post"
+            if (comments.isEmpty() && !postRepository.existsById(postId)) {
+                throw new ResourceNotFoundException("Post not found");
+            }
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            comments = commentRepository.findPageAfter(postId, position.createdAt(), position.id(), limit);
+        }
+
+        if (comments.size() <= pageSize) {
+            return new CommentPageResponse(comments, null);
+        }
+
+        List<CommentResponse> page = comments.subList(0, pageSize);
+        CommentResponse last = page.get(pageSize - 1);
+        return new CommentPageResponse(page, new KeysetCursor(last.createdAt(), last.id()).encode());
+    }
+
+    @Transactional
+    public Comment createComment(Long postId, Long userId, CommentCreateRequest request) {
+        // The counter update doubles as the existence check and commits or rolls back with the insert
+        if (postRepository.incrementCommentCount(postId) == 0) {
+            throw new ResourceNotFoundException("Post not found");
+        }
+
+        Comment comment = new Comment(
+            request.content(),
+            userRepository.getReferenceById(userId),
+            postRepository.getReferenceById(postId)
+        );
+        return commentRepository.save(comment);
+    }
+}
@@ -1,46 +1,88 @@
 package com.basicrud.backend.services;
 
-import com.basicrud.backend.domain.User;
+import java.util.concurrent.TimeUnit;
+
 import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.utils.UserIdentifierResolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
-import java.util.Collections;
-import java.util.Optional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    @Autowired
+    private UserIdentifierResolver userIdentifierResolver;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private Timer lookupByIdTimer;
+    private Timer lookupByEmailTimer;
+
+    @PostConstruct
+    public void init() {
+        this.lookupByIdTimer = lookupTimer("id");
+        this.lookupByEmailTimer = lookupTimer("email");
+    }
+
+    private Timer lookupTimer(String by) {
+        return Timer.builder("user.lookup")
+            .description("Time spent resolving the user for authentication, cache hits included")
+            .tag("by", by)
+            .register(meterRegistry);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // Check if "username" is actually a user ID
-        if (username.matches("\\d+")) {
-            Long userId = Long.parseLong(username);
-            Optional<User> userOptionalById = userRepository.findById(userId);
-            if (userOptionalById.isPresent()) {
-                User user = userOptionalById.get();
-                return new org.springframework.security.core.userdetails.User(
-                    user.getId().toString(),
-                    user.getPassword(),
-                    Collections.emptyList()
-                );
-            }
-
-            throw new UsernameNotFoundException("Could not find user with ID: " + username);
+        long userId = userIdentifierResolver.resolveUserId(username);
+        if (userId != UserIdentifierResolver.NOT_A_USER_ID) {
+            return loadUserById(userId);
         }
         
         // Otherwise, treat "username" as an email
-        Optional<User> userOptional = userRepository.findByEmail(username);
-        if (!userOptional.isPresent()) {
-            throw new UsernameNotFoundException("Could not find user with email: " + username);
+        return loadUserByEmail(username);
+    }
+
+    public UserDetails loadUserById(long userId) throws UsernameNotFoundException {
+        long startedAt = System.nanoTime();
+        try {
+            return userDetailsCache.getById(userId, userRepository::findById)
+                .orElseThrow(() -> new UsernameNotFoundException("Could not find user with ID: " + userId));
+        } finally {
+            lookupByIdTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
         }
+    }
+
+    public UserDetails loadUserByEmail(String email) throws UsernameNotFoundException {
+        long startedAt = System.nanoTime();
+        try {
+            return userDetailsCache.getByEmail(email, userRepository::findByEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("Could not find user with email: " + email));
+        } finally {
+            lookupByEmailTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Called by Spring Security after a successful login when the stored hash uses outdated
+    // parameters; newPassword is the presented password already re-encoded with the current ones
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Long userId = Long.parseLong(user.getUsername());
+        userRepository.updatePassword(userId, newPassword);
+        userDetailsCache.evictById(userId);
 
-        User user = userOptional.get();
         return new org.springframework.security.core.userdetails.User(
-            user.getId().toString(),
-            user.getPassword(),
-            Collections.emptyList()
+            user.getUsername(),
+            newPassword,
+            user.getAuthorities()
         );
     }
 }
@@ -0,0 +1,68 @@
+package com.basicrud.backend.services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.basicrud.backend.domain.Post;
+import com.basicrud.backend.dto.PostCreateRequest;
+import com.basicrud.backend.dto.PostDetailResponse;
+import com.basicrud.backend.dto.PostFeedResponse;
+import com.basicrud.backend.dto.PostSummaryResponse;
+import com.basicrud.backend.exceptions.ResourceNotFoundException;
+import com.basicrud.backend.repositories.PostRepository;
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.utils.KeysetCursor;
+
+@Service
+public class PostService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+
+    @Autowired
+    public PostService(PostRepository postRepository, UserRepository userRepository) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+    }
+
+    public PostFeedResponse getFeed(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Read one extra row to learn whether another page exists without a COUNT query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<PostSummaryResponse> posts;
+        if (cursor == null || cursor.isEmpty()) {
+            posts = postRepository.findFeed(limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            posts = postRepository.findFeedBefore(position.createdAt(), position.id(), limit);
+        }
+
+        if (posts.size() <= pageSize) {
+            return new PostFeedResponse(posts, null);
+        }
+
+        List<PostSummaryResponse> page = posts.subList(0, pageSize);
+        PostSummaryResponse last = page.get(pageSize - 1);
+        return new PostFeedResponse(page, new KeysetCursor(last.createdAt(), last.id()).encode());
+    }
+
+    public PostDetailResponse getPost(Long id) {
+        return postRepository.findDetailById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+    }
+
+    public Post createPost(Long userId, PostCreateRequest request) {
+        Post post = new Post(request.title(), request.content());
+        // Only the foreign key is needed, so the author row is not loaded
+        post.setUser(userRepository.getReferenceById(userId));
+
+        return postRepository.save(post);
+    }
+}
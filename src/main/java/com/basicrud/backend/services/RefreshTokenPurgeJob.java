@@ -0,0 +1,122 @@
+package com.basicrud.backend.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Periodically deletes expired refresh tokens in small chunks.
+ * Each chunk is its own short transaction that walks the expires_at index forward from where
+ * the previous chunk stopped, and the job pauses between chunks so the purge never holds
+ * locks for long nor produces dead tuples faster than autovacuum can keep up with.
+ * Purged ids are deliberately not removed from {@link RefreshTokenRegistry}: most of them were
+ * never added to this instance's filter, and removing them would clear counters shared with
+ * live tokens. An expired token fails signature verification before the filter is consulted.
+ */
+@Component
+public class RefreshTokenPurgeJob {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+    // SKIP LOCKED lets several instances purge concurrently without waiting on each other
+    public static final String DELETE_CHUNK_SQL =
+        "DELETE FROM refresh_token WHERE id IN (" +
+        "SELECT id FROM refresh_token WHERE expires_at >= ? AND expires_at < ? " +
+        "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED" +
+        ") RETURNING expires_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long pauseBetweenChunksInMillis;
+    private final Counter purgedRows;
+    private final Timer purgeDuration;
+
+    @Autowired
+    public RefreshTokenPurgeJob(
+        JdbcTemplate jdbcTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${refreshToken.purge.enabled:true}") boolean enabled,
+        @Value("${refreshToken.purge.chunkSize:1000}") int chunkSize,
+        @Value("${refreshToken.purge.maxChunksPerRun:1000}") int maxChunksPerRun,
+        @Value("${refreshToken.purge.pauseBetweenChunksInMillis:100}") long pauseBetweenChunksInMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pauseBetweenChunksInMillis = pauseBetweenChunksInMillis;
+        this.purgedRows = Counter.builder("refresh.token.purge.rows")
+            .description("Expired refresh tokens deleted")
+            .register(meterRegistry);
+        this.purgeDuration = Timer.builder("refresh.token.purge.duration")
+            .description("Time spent on one purge run")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${refreshToken.purge.initialDelayInMillis:60000}",
+        fixedDelayString = "${refreshToken.purge.fixedDelayInMillis:3600000}"
+    )
+    public void purgeExpiredTokens() {
+        if (!enabled) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start();
+        long purged = purgeInChunks();
+        sample.stop(purgeDuration);
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private long purgeInChunks() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime lowerBound = LocalDateTime.of(1970, 1, 1, 0, 0);
+        long purged = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<LocalDateTime> deleted = jdbcTemplate.query(
+                DELETE_CHUNK_SQL,
+                (rs, rowNum) -> rs.getTimestamp("expires_at").toLocalDateTime(),
+                lowerBound,
+                cutoff,
+                chunkSize
+            );
+            purged += deleted.size();
+            purgedRows.increment(deleted.size());
+
+            if (deleted.size() < chunkSize) {
+                break;
+            }
+
+            // Keyset: the next chunk starts at the latest expiry removed by this one
+            for (LocalDateTime expiresAt : deleted) {
+                if (expiresAt.isAfter(lowerBound)) {
+                    lowerBound = expiresAt;
+                }
+            }
+
+            try {
+                Thread.sleep(pauseBetweenChunksInMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return purged;
+    }
+}
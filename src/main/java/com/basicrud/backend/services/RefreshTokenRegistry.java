@@ -0,0 +1,135 @@
+package com.basicrud.backend.services;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.basicrud.backend.utils.CountingBloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Local membership check for issued refresh tokens.
+ * The filter holds a snapshot of the refresh_token table taken at startup. Other instances keep
+ * issuing tokens this one never sees, so a negative answer is only trusted for tokens issued
+ * before the snapshot (less a grace period covering clock skew and unflushed writes); it then
+ * means the token was never issued or has since been revoked here. Every other lookup is reported
+ * as a probable positive and confirmed against the database.
+ */
+@Component
+public class RefreshTokenRegistry {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenRegistry.class);
+
+    private final CountingBloomFilter filter;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate streamingTransaction;
+    private final boolean enabled;
+    private final long snapshotGraceInMillis;
+    private final Counter rejected;
+
+    // Tokens issued before this instant were either loaded into the filter or had already expired
+    private volatile Instant trustedBefore;
+
+    @Autowired
+    public RefreshTokenRegistry(
+        DataSource dataSource,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${refreshToken.filter.enabled:true}") boolean enabled,
+        @Value("${refreshToken.filter.expectedInsertions:10000000}") long expectedInsertions,
+        @Value("${refreshToken.filter.falsePositiveRate:0.01}") double falsePositiveRate,
+        @Value("${refreshToken.filter.fetchSize:10000}") int fetchSize,
+        @Value("${refreshToken.filter.snapshotGraceInMillis:60000}") long snapshotGraceInMillis
+    ) {
+        this.enabled = enabled;
+        this.snapshotGraceInMillis = snapshotGraceInMillis;
+        this.filter = enabled ? new CountingBloomFilter(expectedInsertions, falsePositiveRate) : null;
+
+        // PostgreSQL only streams a result set with a fetch size inside a transaction
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        // Deliberately not read-only: a read-only transaction may be served by a lagging replica,
+        // and a token missing from the filter would be rejected as if it had never been issued
+        this.streamingTransaction = new TransactionTemplate(transactionManager);
+
+        this.rejected = Counter.builder("refresh.token.filter.rejected")
+            .description("Refresh tokens rejected without a database lookup")
+            .register(meterRegistry);
+        if (enabled) {
+            Gauge.builder("refresh.token.filter.memory", filter, CountingBloomFilter::memoryInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFromDatabase() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant snapshotStartedAt = Instant.now();
+        long startedAt = System.nanoTime();
+        AtomicLong loaded = new AtomicLong();
+        streamingTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(
+            "SELECT id FROM refresh_token WHERE expires_at > ?",
+            rs -> {
+                UUID id = rs.getObject(1, UUID.class);
+                filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+                loaded.incrementAndGet();
+            },
+            LocalDateTime.now(ZoneOffset.UTC)
+        ));
+
+        trustedBefore = snapshotStartedAt.minusMillis(snapshotGraceInMillis);
+        log.info(
+            "Loaded {} refresh tokens into the local filter ({} bytes) in {} ms",
+            loaded.get(),
+            filter.memoryInBytes(),
+            (System.nanoTime() - startedAt) / 1_000_000
+        );
+    }
+
+    // Must only be called once per token actually removed from storage
+    public void remove(UUID id, Instant issuedAt) {
+        // Only tokens covered by the snapshot were ever added; removing any other key could zero
+        // counters shared with loaded tokens and make them look revoked
+        if (isCovered(issuedAt)) {
+            filter.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+    }
+
+    public boolean mightExist(UUID id, Instant issuedAt) {
+        if (!isCovered(issuedAt)) {
+            return true;
+        }
+
+        boolean mightExist = filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (!mightExist) {
+            rejected.increment();
+        }
+        return mightExist;
+    }
+
+    private boolean isCovered(Instant issuedAt) {
+        Instant cutoff = trustedBefore;
+        return enabled && cutoff != null && issuedAt != null && issuedAt.isBefore(cutoff);
+    }
+}
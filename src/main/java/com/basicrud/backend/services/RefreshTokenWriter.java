@@ -0,0 +1,214 @@
+package com.basicrud.backend.services;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.basicrud.backend.domain.RefreshToken;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind persistence for refresh tokens.
+ * Issued tokens are queued and inserted in JDBC batches by a single background thread,
+ * flushing when a batch is full or when the flush interval has passed since its first row.
+ * A token counts as stored from the moment it is queued, so validation never misses a token
+ * that has not been flushed yet. When the bounded queue stays full, the caller inserts its own
+ * row synchronously, which slows issuance down instead of dropping tokens.
+ */
+@Component
+public class RefreshTokenWriter {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenWriter.class);
+    private static final String INSERT_SQL =
+        "INSERT INTO refresh_token (id, user_id, created_at, expires_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalInMillis;
+    private final long offerTimeoutInMillis;
+    private final BlockingQueue<RefreshToken> queue;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final Timer flushTimer;
+    private final Timer directTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @Autowired
+    public RefreshTokenWriter(
+        JdbcTemplate jdbcTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${refreshToken.writeBehind.enabled:true}") boolean enabled,
+        @Value("${refreshToken.writeBehind.batchSize:200}") int batchSize,
+        @Value("${refreshToken.writeBehind.flushIntervalInMillis:20}") long flushIntervalInMillis,
+        @Value("${refreshToken.writeBehind.queueCapacity:10000}") int queueCapacity,
+        @Value("${refreshToken.writeBehind.offerTimeoutInMillis:100}") long offerTimeoutInMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalInMillis = flushIntervalInMillis;
+        this.offerTimeoutInMillis = offerTimeoutInMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushTimer = Timer.builder("refresh.token.writer.flush")
+            .description("Time spent inserting one batch of refresh tokens")
+            .register(meterRegistry);
+        this.directTimer = Timer.builder("refresh.token.writer.direct")
+            .description("Time callers spent inserting their own refresh token, bypassing the queue")
+            .register(meterRegistry);
+
+        Gauge.builder("refresh.token.writer.queue", queue, BlockingQueue::size)
+            .description("Refresh tokens waiting to be inserted")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        worker = Thread.ofPlatform()
+            .name("refresh-token-writer")
+            .daemon(true)
+            .start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+
+        // The worker drains whatever is still queued before it exits
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public void write(RefreshToken refreshToken) {
+        if (!enabled) {
+            directTimer.record(() -> insert(List.of(refreshToken)));
+            return;
+        }
+
+        pending.add(refreshToken.getId());
+        boolean queued;
+        try {
+            queued = queue.offer(refreshToken, offerTimeoutInMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+
+        if (!queued) {
+            // Backpressure: the queue is saturated, so this caller pays for its own insert
+            directTimer.record(() -> insert(List.of(refreshToken)));
+            pending.remove(refreshToken.getId());
+        }
+    }
+
+    // A queued token is already valid even though its row has not been inserted yet
+    public boolean isPending(UUID id) {
+        return pending.contains(id);
+    }
+
+    // Prevents a queued token from being inserted; returns true if it had not been flushed yet
+    public boolean cancel(UUID id) {
+        return pending.remove(id);
+    }
+
+    private void run() {
+        List<RefreshToken> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                RefreshToken first = queue.poll(flushIntervalInMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalInMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    RefreshToken next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Failed to persist {} refresh tokens", batch.size(), e);
+                // Dropped like rows that fail on their own; left pending, they would stay valid without a row
+                batch.forEach(refreshToken -> pending.remove(refreshToken.getId()));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<RefreshToken> batch) {
+        // Skip tokens revoked while they were waiting in the queue
+        batch.removeIf(refreshToken -> !pending.contains(refreshToken.getId()));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> insert(batch));
+        } catch (DataAccessException e) {
+            // One bad row (e.g. a user deleted meanwhile) fails the whole batch, so retry row by row
+            batch.removeIf(this::insertFailed);
+        }
+
+        for (RefreshToken refreshToken : batch) {
+            if (!pending.remove(refreshToken.getId())) {
+                // Revoked while the batch was being inserted
+                jdbcTemplate.update("DELETE FROM refresh_token WHERE id = ?", refreshToken.getId());
+            }
+        }
+    }
+
+    private boolean insertFailed(RefreshToken refreshToken) {
+        try {
+            insert(List.of(refreshToken));
+            return false;
+        } catch (DataAccessException e) {
+            log.warn("Dropping refresh token {}: {}", refreshToken.getId(), e.getMessage());
+            pending.remove(refreshToken.getId());
+            return true;
+        }
+    }
+
+    private void insert(List<RefreshToken> refreshTokens) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, refreshTokens, refreshTokens.size(), (ps, refreshToken) -> {
+            ps.setObject(1, refreshToken.getId());
+            ps.setLong(2, refreshToken.getUser().getId());
+            ps.setTimestamp(3, Timestamp.valueOf(refreshToken.getCreatedAt()));
+            ps.setTimestamp(4, Timestamp.valueOf(refreshToken.getExpiresAt()));
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.basicrud.backend.services;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.basicrud.backend.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Size- and time-bounded cache of the user fields needed for authentication,
+ * indexed both by user ID and by email.
+ * Only immutable projections are stored; every caller gets a fresh UserDetails instance,
+ * so Spring Security erasing credentials after login never touches a cached entry.
+ */
+@Component
+public class UserDetailsCache {
+    private final Cache<Long, CachedUser> byId;
+    private final Cache<String, CachedUser> byEmail;
+
+    @Autowired
+    public UserDetailsCache(
+        MeterRegistry meterRegistry,
+        @Value("${userCache.maximumSize:10000}") long maximumSize,
+        @Value("${userCache.expireAfterWriteInSeconds:300}") long expireAfterWriteInSeconds
+    ) {
+        Duration expireAfterWrite = Duration.ofSeconds(expireAfterWriteInSeconds);
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        this.byEmail = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+
+        bindMetrics(meterRegistry, byId, "userDetailsById");
+        bindMetrics(meterRegistry, byEmail, "userDetailsByEmail");
+    }
+
+    public Optional<UserDetails> getById(Long id, Function<Long, Optional<User>> loader) {
+        CachedUser user = byId.get(id, key -> loader.apply(key).map(this::cacheUnderEmail).orElse(null));
+        return Optional.ofNullable(user).map(CachedUser::toUserDetails);
+    }
+
+    public Optional<UserDetails> getByEmail(String email, Function<String, Optional<User>> loader) {
+        CachedUser user = byEmail.get(emailKey(email), key -> loader.apply(email).map(this::cacheUnderId).orElse(null));
+        return Optional.ofNullable(user).map(CachedUser::toUserDetails);
+    }
+
+    public void evict(User user) {
+        if (user.getId() != null) {
+            evictById(user.getId());
+        }
+        if (user.getEmail() != null) {
+            byEmail.invalidate(emailKey(user.getEmail()));
+        }
+    }
+
+    public void evictById(Long id) {
+        CachedUser cached = byId.getIfPresent(id);
+        byId.invalidate(id);
+
+        if (cached != null) {
+            byEmail.invalidate(emailKey(cached.email()));
+        } else {
+            byEmail.asMap().values().removeIf(user -> user.id().equals(id));
+        }
+    }
+
+    private CachedUser cacheUnderEmail(User user) {
+        CachedUser cached = CachedUser.from(user);
+        byEmail.put(emailKey(cached.email()), cached);
+        return cached;
+    }
+
+    private CachedUser cacheUnderId(User user) {
+        CachedUser cached = CachedUser.from(user);
+        byId.put(cached.id(), cached);
+        return cached;
+    }
+
+    // Emails are unique regardless of case, so every spelling of one address shares an entry
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static void bindMetrics(MeterRegistry meterRegistry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    private record CachedUser(Long id, String email, String password) {
+        static CachedUser from(User user) {
+            return new CachedUser(user.getId(), user.getEmail(), user.getPassword());
+        }
+
+        UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(
+                id.toString(),
+                password,
+                Collections.emptyList()
+            );
+        }
+    }
+}
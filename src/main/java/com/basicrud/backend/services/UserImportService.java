@@ -0,0 +1,307 @@
+package com.basicrud.backend.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.dto.UserCreateRequest;
+import com.basicrud.backend.dto.UserImportResult;
+import com.basicrud.backend.dto.UserImportResult.Status;
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.security.BoundedPasswordEncoder;
+import com.basicrud.backend.utils.NicknameValidator;
+import com.basicrud.backend.utils.PasswordValidator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk creation of users from a JSON array or from newline-delimited JSON objects.
+ * The upload is parsed as a stream and handled in fixed-size chunks, so memory use does not
+ * depend on the size of the upload. Each chunk is validated, checked for existing emails with
+ * a single IN query, hashed in parallel and inserted as one JDBC batch. Its per-row results are
+ * written and flushed before the next chunk is read.
+ */
+@Service
+public class UserImportService {
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder hashingEncoder;
+    private final PasswordValidator passwordValidator;
+    private final NicknameValidator nicknameValidator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final ExecutorService hashingExecutor;
+    private final int chunkSize;
+    private final Map<Status, Counter> rowCounters = new EnumMap<>(Status.class);
+
+    @Autowired
+    public UserImportService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        PasswordValidator passwordValidator,
+        NicknameValidator nicknameValidator,
+        Validator validator,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${userImport.chunkSize:500}") int chunkSize,
+        @Value("${userImport.hashingThreads:0}") int hashingThreads
+    ) {
+        this.userRepository = userRepository;
+        this.passwordValidator = passwordValidator;
+        this.nicknameValidator = nicknameValidator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        // An import would fill the bounded login pool and turn interactive logins into 503s,
+        // so it hashes with the underlying encoder on threads of its own
+        this.hashingEncoder = passwordEncoder instanceof BoundedPasswordEncoder boundedEncoder
+            ? boundedEncoder.getDelegate()
+            : passwordEncoder;
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.hashingExecutor = Executors.newFixedThreadPool(
+            threads,
+            Thread.ofPlatform().name("user-import-hasher-", 0).daemon(true).factory()
+        );
+
+        for (Status status : Status.values()) {
+            rowCounters.put(status, Counter.builder("user.import.rows")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    public void importUsers(InputStream input, OutputStream output) throws IOException {
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            // Accept one top-level array as well as a sequence of top-level objects (NDJSON)
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && token != JsonToken.END_ARRAY) {
+                // Reading each record as a tree keeps the parser in a known position
+                // even when the record itself does not map to a user
+                chunk.add(new PendingRow(++rowNumber, objectMapper.readTree(parser)));
+                if (chunk.size() == chunkSize) {
+                    writeResults(output, processChunk(chunk));
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (StreamReadException e) {
+            // There is no reliable position to resume from after a syntax error,
+            // so finish the records read so far and stop
+            writeResults(output, processChunk(chunk));
+            writeResults(output, List.of(result(rowNumber + 1, null, Status.ABORTED, null,
+                "Malformed JSON: " + e.getOriginalMessage())));
+            return;
+        }
+
+        writeResults(output, processChunk(chunk));
+    }
+
+    private List<UserImportResult> processChunk(List<PendingRow> rows) {
+        UserImportResult[] results = new UserImportResult[rows.size()];
+
+        // Cheap checks first, so rejected rows never cost a query or a hash
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            PendingRow row = rows.get(i);
+            UserCreateRequest request;
+            try {
+                request = objectMapper.treeToValue(row.node(), UserCreateRequest.class);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                results[i] = result(row.number(), null, Status.INVALID, null, "Record is not a user object");
+                continue;
+            }
+
+            String problem = validate(request);
+            if (problem != null) {
+                results[i] = result(row.number(), request.email(), Status.INVALID, null, problem);
+                continue;
+            }
+            candidates.add(new Candidate(i, row.number(), request));
+        }
+
+        candidates = removeDuplicates(candidates, results);
+        insert(hash(candidates, results), results);
+        return List.of(results);
+    }
+
+    private String validate(UserCreateRequest request) {
+        Set<ConstraintViolation<UserCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (!nicknameValidator.isValid(request.nickname())) {
+            return UserService.INVALID_NICKNAME_MESSAGE;
+        }
+        if (!passwordValidator.isValid(request.password())) {
+            return UserService.INVALID_PASSWORD_MESSAGE;
+        }
+        return null;
+    }
+
+    private List<Candidate> removeDuplicates(List<Candidate> candidates, UserImportResult[] results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+            candidates.stream().map(Candidate::emailKey).toList()
+        ));
+        Set<String> seen = new HashSet<>();
+
+        List<Candidate> unique = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String email = candidate.emailKey();
+            // Repeats inside the chunk are caught here, repeats of earlier chunks by the query
+            if (existing.contains(email) || !seen.add(email)) {
+                results[candidate.index()] = candidate.result(Status.DUPLICATE, null, UserService.EMAIL_IN_USE_MESSAGE);
+            } else {
+                unique.add(candidate);
+            }
+        }
+        return unique;
+    }
+
+    private List<HashedCandidate> hash(List<Candidate> candidates, UserImportResult[] results) {
+        List<Future<String>> hashes = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            hashes.add(hashingExecutor.submit(() -> hashingEncoder.encode(candidate.request().password())));
+        }
+
+        List<HashedCandidate> hashed = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            try {
+                hashed.add(new HashedCandidate(candidate, hashes.get(i).get()));
+            } catch (ExecutionException e) {
+                log.warn("Hashing failed for import row {}", candidate.row(), e.getCause());
+                results[candidate.index()] = candidate.result(Status.FAILED, null, "Password could not be hashed");
+            } catch (InterruptedException e) {
+                hashes.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+            }
+        }
+        return hashed;
+    }
+
+    private void insert(List<HashedCandidate> candidates, UserImportResult[] results) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<User> users = transaction.execute(status ->
+                userRepository.saveAllAndFlush(candidates.stream().map(HashedCandidate::toUser).toList())
+            );
+            for (int i = 0; i < candidates.size(); i++) {
+                Candidate candidate = candidates.get(i).candidate();
+                results[candidate.index()] = candidate.result(Status.CREATED, users.get(i).getId(), null);
+            }
+        } catch (DataAccessException e) {
+            // Usually an email registered since the IN query; retry row by row to isolate it
+            log.debug("Import batch failed, retrying {} rows individually", candidates.size(), e);
+            candidates.forEach(candidate -> insertOne(candidate, results));
+        }
+    }
+
+    private void insertOne(HashedCandidate hashed, UserImportResult[] results) {
+        Candidate candidate = hashed.candidate();
+        try {
+            User user = transaction.execute(status -> userRepository.saveAndFlush(hashed.toUser()));
+            results[candidate.index()] = candidate.result(Status.CREATED, user.getId(), null);
+        } catch (DataIntegrityViolationException e) {
+            results[candidate.index()] = candidate.result(Status.DUPLICATE, null, UserService.EMAIL_IN_USE_MESSAGE);
+        } catch (DataAccessException e) {
+            log.warn("Could not store import row {}", candidate.row(), e);
+            results[candidate.index()] = candidate.result(Status.FAILED, null, "User could not be stored");
+        }
+    }
+
+    private void writeResults(OutputStream output, List<UserImportResult> results) throws IOException {
+        for (UserImportResult result : results) {
+            rowCounters.get(result.status()).increment();
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        // Flushing per chunk lets the client follow the progress of a long import
+        output.flush();
+    }
+
+    private static UserImportResult result(long row, String email, Status status, Long id, String message) {
+        return new UserImportResult(row, email, status, id, message);
+    }
+
+    private record PendingRow(long number, JsonNode node) {
+    }
+
+    private record Candidate(int index, long row, UserCreateRequest request) {
+        // Emails are unique regardless of case
+        String emailKey() {
+            return request.email().toLowerCase(Locale.ROOT);
+        }
+
+        UserImportResult result(Status status, Long id, String message) {
+            return UserImportService.result(row, request.email(), status, id, message);
+        }
+    }
+
+    private record HashedCandidate(Candidate candidate, String passwordHash) {
+        // A new entity per attempt, so a rolled-back batch leaves no stale IDs behind for the retry
+        User toUser() {
+            UserCreateRequest request = candidate.request();
+            User user = new User(request.nickname(), request.email(), "");
+            user.setPassword(passwordHash);
+            return user;
+        }
+    }
+}
@@ -2,54 +2,86 @@ package com.basicrud.backend.services;
 
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.basicrud.backend.domain.User;
 import com.basicrud.backend.dto.UserCreateRequest;
+import com.basicrud.backend.events.EventOutbox;
+import com.basicrud.backend.events.UserCreatedEvent;
+import com.basicrud.backend.exceptions.ConflictException;
 import com.basicrud.backend.exceptions.InvalidRequestDataException;
 import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.security.RevokedUserRegistry;
 import com.basicrud.backend.utils.NicknameValidator;
 import com.basicrud.backend.utils.PasswordValidator;
 
 @Service
 public class UserService {
+    public static final String EMAIL_IN_USE_MESSAGE = "Email already in use";
+    public static final String INVALID_NICKNAME_MESSAGE = "Invalid nickname format";
+    public static final String INVALID_PASSWORD_MESSAGE =
+        "Password must be 8-1024 characters long and include at least one uppercase letter, " +
+        "one lowercase letter, one digit, and one special character (!@#$%^&*()-+)";
+
+    // Defined in db/migration/V4__performance_indexes.sql
+    private static final String EMAIL_UNIQUE_INDEX = "ux_users_email_lower";
+    private static final String USER_AGGREGATE = "user";
+
     private UserRepository userRepository;
     private PasswordEncoder passwordEncoder;
     private PasswordValidator passwordValidator;
     private NicknameValidator nicknameValidator;
+    private RevokedUserRegistry revokedUserRegistry;
+    private UserDetailsCache userDetailsCache;
+    private EventOutbox eventOutbox;
+    private TransactionTemplate transactionTemplate;
 
     @Autowired
     public UserService(
         UserRepository userRepository, 
         PasswordEncoder passwordEncoder,
         PasswordValidator passwordValidator,
-        NicknameValidator nicknameValidator
+        NicknameValidator nicknameValidator,
+        RevokedUserRegistry revokedUserRegistry,
+        UserDetailsCache userDetailsCache,
+        EventOutbox eventOutbox,
+        PlatformTransactionManager transactionManager
     ) {
         this.passwordEncoder = passwordEncoder;
         this.userRepository = userRepository;
         this.passwordValidator = passwordValidator;
         this.nicknameValidator = nicknameValidator;
+        this.revokedUserRegistry = revokedUserRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public User createUser(UserCreateRequest request) {
+        // Validators only scan the input, so malformed requests never reach the database
         boolean isValidNickname = nicknameValidator.isValid(request.nickname());
         if (!isValidNickname) {
-            throw new InvalidRequestDataException("Invalid nickname format");
-        }
-
-        boolean existingByEmail = userRepository.existsByEmail(request.email());
-        if (existingByEmail) {
-            throw new InvalidRequestDataException("Email already in use");
+            throw new InvalidRequestDataException(INVALID_NICKNAME_MESSAGE);
         }
 
         boolean isValidPassword = passwordValidator.isValid(request.password());
         if (!isValidPassword) {
-            throw new InvalidRequestDataException(
-                "Password must be 8-1024 characters long and include at least one uppercase letter, " +
-                "one lowercase letter, one digit, and one special character (!@#$%^&*()-+)"
-            );
+            throw new InvalidRequestDataException(INVALID_PASSWORD_MESSAGE);
+        }
+
+        // An index-only probe is far cheaper than the BCrypt hash it saves when the email is taken,
+        // which is the common case under a registration bot. It is not the uniqueness guarantee;
+        // the insert below is
+        boolean existingByEmail = userRepository.existsByEmail(request.email());
+        if (existingByEmail) {
+            throw new ConflictException(EMAIL_IN_USE_MESSAGE);
         }
 
         User newUser = new User(
@@ -59,7 +91,26 @@ public class UserService {
         );
 
         setUserPassword(newUser, request.password());
-        userRepository.save(newUser);
+        try {
+            // Only the insert and its event share a transaction; hashing above holds no connection,
+            // and mail or broker work happens later on the consumers
+            transactionTemplate.executeWithoutResult(status -> {
+                // Flush inside the repository call, so a duplicate surfaces here as a translated exception
+                userRepository.saveAndFlush(newUser);
+                eventOutbox.append(
+                    USER_AGGREGATE,
+                    newUser.getId(),
+                    UserCreatedEvent.TYPE,
+                    new UserCreatedEvent(newUser.getId(), newUser.getNickname(), newUser.getEmail())
+                );
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration with the same email won the race since the probe
+            if (isEmailConflict(e)) {
+                throw new ConflictException(EMAIL_IN_USE_MESSAGE);
+            }
+            throw e;
+        }
 
         return newUser;
     }
@@ -67,33 +118,42 @@ public class UserService {
     public void deleteUser(Long id) {
         // Logic to delete a user
         userRepository.deleteById(id);
+        // Tokens already issued to the user must stop working even without a user lookup
+        revokedUserRegistry.revoke(id);
+        userDetailsCache.evictById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         // Logic to retrieve a user by ID
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserByEmail(String email) {
         // Logic to retrieve a user by email
         return userRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> getUserByNickname(String nickname) {
         // Logic to retrieve a user by nickname
         return userRepository.findByNickname(nickname);
     }
 
+    @Transactional(readOnly = true)
     public boolean userExistsByEmail(String email) {
         // Logic to check if a user exists by email
         return userRepository.existsByEmail(email);
     }
 
+    @Transactional(readOnly = true)
     public boolean userExistsByNickname(String nickname) {
         // Logic to check if a user exists by nickname
         return userRepository.existsByNickname(nickname);
     }
 
+    @Transactional(readOnly = true)
     public boolean userExistsById(Long id) {
         // Logic to check if a user exists by ID
         return userRepository.existsById(id);
@@ -102,9 +162,16 @@ public class UserService {
     public void setUserPassword(User user, String rawPassword) {
         String hashedPassword = passwordEncoder.encode(rawPassword);
         user.setPassword(hashedPassword);
+        // Cached credentials must not outlive a password change
+        userDetailsCache.evict(user);
     }
 
     public boolean checkUserPassword(User user, String rawPassword) {
         return passwordEncoder.matches(rawPassword, user.getPassword());
     }
+
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+            && EMAIL_UNIQUE_INDEX.equalsIgnoreCase(violation.getConstraintName());
+    }
 }
@@ -0,0 +1,120 @@
+package com.basicrud.backend.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe counting Bloom filter over 128-bit keys such as UUIDs.
+ * Counters are 4 bits wide and packed sixteen to a long, which costs about 4.8 bytes per
+ * expected key at a 1% false-positive rate (roughly 48 MB for 10 million keys).
+ * A saturated counter is never decremented again, so removals cannot cause false negatives.
+ */
+public class CountingBloomFilter {
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xFL;
+
+    private final AtomicLongArray counters;
+    private final long counterCount;
+    private final int hashCount;
+
+    public CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing");
+        }
+
+        double ln2 = Math.log(2);
+        long counters = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = Math.toIntExact((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+
+        this.counters = new AtomicLongArray(words);
+        this.counterCount = (long) words * COUNTERS_PER_WORD;
+        this.hashCount = Math.max(1, (int) Math.round((double) counters / expectedInsertions * ln2));
+    }
+
+    public void add(long mostSigBits, long leastSigBits) {
+        long h1 = mix(mostSigBits);
+        long h2 = mix(leastSigBits) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            increment(index(h1 + i * h2));
+        }
+    }
+
+    // Must only be called for keys that were previously added
+    public void remove(long mostSigBits, long leastSigBits) {
+        long h1 = mix(mostSigBits);
+        long h2 = mix(leastSigBits) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            decrement(index(h1 + i * h2));
+        }
+    }
+
+    public boolean mightContain(long mostSigBits, long leastSigBits) {
+        long h1 = mix(mostSigBits);
+        long h2 = mix(leastSigBits) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            if (counter(index(h1 + i * h2)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long memoryInBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long index(long hash) {
+        return Long.remainderUnsigned(hash, counterCount);
+    }
+
+    private long counter(long index) {
+        long word = counters.get((int) (index / COUNTERS_PER_WORD));
+        return (word >>> shift(index)) & COUNTER_MASK;
+    }
+
+    private void increment(long index) {
+        int slot = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        while (true) {
+            long word = counters.get(slot);
+            if (((word >>> shift) & COUNTER_MASK) == COUNTER_MASK) {
+                return; // Saturated
+            }
+            if (counters.compareAndSet(slot, word, word + (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private void decrement(long index) {
+        int slot = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        while (true) {
+            long word = counters.get(slot);
+            long value = (word >>> shift) & COUNTER_MASK;
+            if (value == 0 || value == COUNTER_MASK) {
+                return; // Empty, or saturated and therefore pinned
+            }
+            if (counters.compareAndSet(slot, word, word - (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * 4;
+    }
+
+    // MurmurHash3 finalizer, spreads the key bits over the whole word
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -2,85 +2,171 @@ package com.basicrud.backend.utils;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+
+import com.basicrud.backend.utils.TokenVerification.FailureReason;
+
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JWTUtils {
+    private static final Logger log = LoggerFactory.getLogger(JWTUtils.class);
+
     @Value("${jwt.secret}")
     private String jwtSecret;
     @Value("${jwt.accessExpirationInMinutes}")
     private int jwtAccessExpirationInMinutes;
     @Value("${jwt.refreshExpirationInDays}")
     private int jwtRefreshExpirationInDays;
+    // Initialized for instances built outside Spring; the injected value overrides it
+    @Value("${jwt.failureLog.intervalInMillis:" + RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS + "}")
+    private long failureLogIntervalInMillis = RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS;
+    @Autowired
+    private MeterRegistry meterRegistry;
     private SecretKey key;
+    private JwtParser parser;
+    // Registered once, so recording an outcome is a map lookup instead of a meter registration
+    private Timer validTimer;
+    private final Map<FailureReason, Timer> failureTimers = new EnumMap<>(FailureReason.class);
+    private Timer accessTokenTimer;
+    private Timer refreshTokenTimer;
+    // A flood of stale tokens would otherwise log one line per request
+    private RateLimitedLog<FailureReason> failureLog;
 
-    // Initializes the key after the class is instantiated and the jwtSecret is injected, 
+    // Initializes the key after the class is instantiated and the jwtSecret is injected,
     // preventing the repeated creation of the key and enhancing performance
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // The parser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser().verifyWith(key).build();
+
+        this.validTimer = verifyTimer("valid");
+        for (FailureReason reason : FailureReason.values()) {
+            failureTimers.put(reason, verifyTimer(reason.name().toLowerCase(Locale.ROOT)));
+        }
+        this.accessTokenTimer = generateTimer("access");
+        this.refreshTokenTimer = generateTimer("refresh");
+        this.failureLog = new RateLimitedLog<>(log, FailureReason.class, Duration.ofMillis(failureLogIntervalInMillis));
+    }
+
+    @Scheduled(
+        fixedRateString = "${jwt.failureLog.intervalInMillis:" + RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS + "}",
+        initialDelayString = "${jwt.failureLog.intervalInMillis:" + RateLimitedLog.DEFAULT_INTERVAL_IN_MILLIS + "}"
+    )
+    public void logFailureSummary() {
+        failureLog.logSummary();
+    }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("jwt.verify")
+            .description("Time spent parsing and verifying one JWT, by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private Timer generateTimer(String type) {
+        return Timer.builder("jwt.generate")
+            .description("Time spent building and signing one JWT")
+            .tag("type", type)
+            .register(meterRegistry);
     }
 
     // Generate JWT Access Token
     public String generateAccessToken(String id, Date issuedAt) {
+        long startedAt = System.nanoTime();
         Date expiration = Date.from(issuedAt.toInstant().plusSeconds(jwtAccessExpirationInMinutes * 60));
-        return Jwts.builder()
+        String token = Jwts.builder()
             .subject(id)
             .issuedAt(issuedAt)
             .expiration(expiration)
             .signWith(key)
             .compact();
+        accessTokenTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     // Generate JWT Refresh Token
     public String generateRefreshToken(String id, UUID uuid, Date issuedAt) {
+        long startedAt = System.nanoTime();
         Date expiration = Date.from(issuedAt.toInstant().plusSeconds(jwtRefreshExpirationInDays * 24 * 60 * 60));
-        return Jwts.builder()
+        String token = Jwts.builder()
             .subject(id)
             .id(uuid.toString())
             .issuedAt(issuedAt)
             .expiration(expiration)
             .signWith(key)
             .compact();
+        refreshTokenTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return token;
     }
 
-    // Get user ID from JWT token
-    public String getUserIdFromToken(String token) {
-        return Jwts.parser()
-            .verifyWith(key)
-            .build()
-            .parseSignedClaims(token)
-            .getPayload()
-            .getSubject();
-    }
-
-    public Jws<Claims> getAllClaimsFromToken(String token) {
-        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+    // Parse and verify the token once, returning its claims or the reason it was rejected
+    public TokenVerification verify(String token) {
+        long startedAt = System.nanoTime();
+        TokenVerification verification = parseAndVerify(token);
+        Timer timer = verification.isValid() ? validTimer : failureTimers.get(verification.failureReason());
+        timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return verification;
     }
 
-    // Validate JWT token
-    public boolean validateJwtToken(String token) {
+    private TokenVerification parseAndVerify(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                // Every token issued by this service carries an expiration
+                failureLog.log(FailureReason.UNSUPPORTED, "JWT token has no expiration (subject {})", claims.getSubject());
+                return TokenVerification.failed(FailureReason.UNSUPPORTED);
+            }
+
+            Date issuedAt = claims.getIssuedAt();
+            return TokenVerification.valid(
+                claims.getSubject(),
+                claims.getId(),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                expiration.toInstant()
+            );
         } catch (SecurityException e) {
-            System.out.println("Invalid JWT signature: " + e.getMessage());
+            failureLog.log(FailureReason.BAD_SIGNATURE, "Invalid JWT signature: {}", e.getMessage());
+            return TokenVerification.failed(FailureReason.BAD_SIGNATURE);
         } catch (MalformedJwtException e) {
-            System.out.println("Invalid JWT token: " + e.getMessage());
+            failureLog.log(FailureReason.MALFORMED, "Invalid JWT token: {}", e.getMessage());
+            return TokenVerification.failed(FailureReason.MALFORMED);
         } catch (ExpiredJwtException e) {
-            System.out.println("JWT token is expired: " + e.getMessage());
+            failureLog.log(FailureReason.EXPIRED, "JWT token is expired: {}", e.getMessage());
+            return TokenVerification.failed(FailureReason.EXPIRED);
         } catch (UnsupportedJwtException e) {
-            System.out.println("JWT token is unsupported: " + e.getMessage());
+            failureLog.log(FailureReason.UNSUPPORTED, "JWT token is unsupported: {}", e.getMessage());
+            return TokenVerification.failed(FailureReason.UNSUPPORTED);
         } catch (IllegalArgumentException e) {
-            System.out.println("JWT claims string is empty: " + e.getMessage());
+            failureLog.log(FailureReason.EMPTY, "JWT claims string is empty: {}", e.getMessage());
+            return TokenVerification.failed(FailureReason.EMPTY);
+        } catch (JwtException e) {
+            failureLog.log(FailureReason.MALFORMED, "Invalid JWT token: {}", e.getMessage());
+            return TokenVerification.failed(FailureReason.MALFORMED);
         }
-        return false;
+    }
+
+    public Jws<Claims> getAllClaimsFromToken(String token) {
+        return parser.parseSignedClaims(token);
     }
 }
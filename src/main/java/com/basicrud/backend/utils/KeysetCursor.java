@@ -0,0 +1,39 @@
+package com.basicrud.backend.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.basicrud.backend.exceptions.InvalidRequestDataException;
+
+/**
+ * Opaque position in a list ordered by (createdAt, id).
+ * The next page is read with a seek predicate on these two values instead of an OFFSET,
+ * so every page costs the same index range scan no matter how deep it is.
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestDataException("Invalid cursor");
+            }
+
+            return new KeysetCursor(
+                LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestDataException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.basicrud.backend.utils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * Logs at most one event per reason and interval; the others are only counted and reported
+ * together by logSummary(), e.g. "1523 more expired events in the last 10 s".
+ * Events carry "reason" (and summaries "count") as key-value pairs for structured encoders.
+ * When INFO is disabled for the logger nothing is counted and nothing is allocated.
+ */
+public class RateLimitedLog<R extends Enum<R>> {
+    public static final long DEFAULT_INTERVAL_IN_MILLIS = 10_000;
+
+    private final Logger log;
+    private final long intervalNanos;
+    private final long intervalSeconds;
+    private final String[] reasonNames;
+    private final AtomicLongArray nextSampleAt;
+    private final LongAdder[] suppressed;
+
+    public RateLimitedLog(Logger log, Class<R> reasonType, Duration interval) {
+        this.log = log;
+        this.intervalNanos = interval.toNanos();
+        this.intervalSeconds = interval.toSeconds();
+
+        R[] reasons = reasonType.getEnumConstants();
+        this.reasonNames = new String[reasons.length];
+        this.nextSampleAt = new AtomicLongArray(reasons.length);
+        this.suppressed = new LongAdder[reasons.length];
+        long now = System.nanoTime();
+        for (R reason : reasons) {
+            reasonNames[reason.ordinal()] = reason.name().toLowerCase(Locale.ROOT);
+            nextSampleAt.set(reason.ordinal(), now);
+            suppressed[reason.ordinal()] = new LongAdder();
+        }
+    }
+
+    public void log(R reason, String message, Object detail) {
+        log(reason, message, detail, null);
+    }
+
+    // The cause is attached to the event with its stack trace instead of being formatted into the message
+    public void log(R reason, String message, Object detail, Throwable cause) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        int index = reason.ordinal();
+        long now = System.nanoTime();
+        long next = nextSampleAt.get(index);
+        // Only the thread that moves the window forward logs; concurrent events in the same window are counted
+        if (now - next >= 0 && nextSampleAt.compareAndSet(index, next, now + intervalNanos)) {
+            log.atInfo()
+                .setCause(cause)
+                .addKeyValue("reason", reasonNames[index])
+                .log(message, detail);
+        } else {
+            suppressed[index].increment();
+        }
+    }
+
+    public void logSummary() {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+
+        for (int index = 0; index < suppressed.length; index++) {
+            long count = suppressed[index].sumThenReset();
+            if (count > 0) {
+                log.atInfo()
+                    .addKeyValue("reason", reasonNames[index])
+                    .addKeyValue("count", count)
+                    .log("{} more {} events in the last {} s", count, reasonNames[index], intervalSeconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.basicrud.backend.utils;
+
+import java.time.Instant;
+
+/**
+ * Outcome of parsing and verifying a JWT exactly once.
+ * A valid result carries the claims the application needs, a failed one carries the reason.
+ */
+public record TokenVerification(
+    String subject,
+    String tokenId,
+    Instant issuedAt,
+    Instant expiration,
+    FailureReason failureReason
+) {
+    public enum FailureReason {
+        EXPIRED,
+        MALFORMED,
+        BAD_SIGNATURE,
+        UNSUPPORTED,
+        EMPTY
+    }
+
+    public static TokenVerification valid(String subject, String tokenId, Instant issuedAt, Instant expiration) {
+        return new TokenVerification(subject, tokenId, issuedAt, expiration, null);
+    }
+
+    public static TokenVerification failed(FailureReason failureReason) {
+        return new TokenVerification(null, null, null, null, failureReason);
+    }
+
+    public boolean isValid() {
+        return failureReason == null;
+    }
+}
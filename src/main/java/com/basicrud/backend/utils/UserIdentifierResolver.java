@@ -0,0 +1,31 @@
+package com.basicrud.backend.utils;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserIdentifierResolver {
+    public static final long NOT_A_USER_ID = -1L;
+
+    // Classifies and parses the principal in a single pass without allocating.
+    // Returns the numeric user ID, or NOT_A_USER_ID when the principal should be treated as an email.
+    public long resolveUserId(String principal) {
+        if (principal == null || principal.isEmpty()) {
+            return NOT_A_USER_ID;
+        }
+
+        long userId = 0;
+        for (int i = 0; i < principal.length(); i++) {
+            int digit = principal.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_A_USER_ID; // Non-digit found, so this is not an ID
+            }
+
+            if (userId > (Long.MAX_VALUE - digit) / 10) {
+                return NOT_A_USER_ID; // Too large to be an ID
+            }
+            userId = userId * 10 + digit;
+        }
+
+        return userId;
+    }
+}
@@ -0,0 +1,45 @@
+-- Schema as Hibernate generated it from the entities before migrations were introduced:
+-- IDENTITY ids, a plain unique constraint on email and no secondary indexes.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate=true),
+-- so everything added since then lives in later migrations that run against them too.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    nickname VARCHAR(128) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(256) NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE posts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT posts_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_posts_user_id FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE comments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    content VARCHAR(500) NOT NULL,
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT comments_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_comments_user_id FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_comments_post_id FOREIGN KEY (post_id) REFERENCES posts (id)
+);
+
+CREATE TABLE refresh_token (
+    id UUID NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT refresh_token_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_refresh_token_user_id FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,16 @@
+-- Indexes for keyset pagination and the refresh token purge, and the materialized comment count.
+-- Databases that ran with ddl-auto=update may already have some of these, hence IF NOT EXISTS.
+
+CREATE INDEX IF NOT EXISTS idx_posts_created_at_id ON posts (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_posts_user_id_created_at_id ON posts (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_comments_post_id_created_at_id ON comments (post_id, created_at, id);
+
+-- The purge job walks expired tokens in expires_at order
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires_at ON refresh_token (expires_at);
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE posts p
+SET comment_count = c.total
+FROM (SELECT post_id, COUNT(*) AS total FROM comments GROUP BY post_id) c
+WHERE c.post_id = p.id AND p.comment_count <> c.total;
@@ -0,0 +1,19 @@
+-- Moves users, posts and comments from IDENTITY ids to pooled sequences so inserts can be batched.
+-- The increment is the number of ids each instance reserves per round-trip; with
+-- hibernate.id.sequence.increment_size_mismatch_strategy=fix the application adopts whatever
+-- increment the sequence has, so it can be tuned later with ALTER SEQUENCE.
+--
+-- The pooled optimizer hands out (value - increment, value], so every sequence is set at least
+-- one full increment above the current maximum id.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 50);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS posts_seq INCREMENT BY 50;
+SELECT setval('posts_seq', COALESCE((SELECT MAX(id) FROM posts), 0) + 50);
+ALTER TABLE posts ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+SELECT setval('comments_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 50);
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,74 @@
+-- Indexes for every finder in UserRepository and for the foreign keys that had none.
+--
+-- The indexes are built CONCURRENTLY so users, comments and refresh_token stay writable while they
+-- build, which means this script runs outside a transaction (see V4__performance_indexes.sql.conf).
+-- If it fails part-way, run flyway repair and start again: invalid leftovers of an interrupted build
+-- are dropped below and everything else is created only if missing.
+
+-- Emails are about to become unique regardless of case. Refuse to start rather than fail half-way
+-- through the index build, and name the accounts that need merging or renaming first.
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(format('user ids %s', ids), '; ')
+    INTO duplicates
+    FROM (
+        SELECT array_agg(id ORDER BY id) AS ids
+        FROM users
+        GROUP BY lower(email)
+        HAVING COUNT(*) > 1
+        LIMIT 50
+    ) d;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'users.email contains addresses that differ only in case: %', duplicates
+            USING HINT = 'Merge or rename these accounts so every lower(email) is unique, then run the migration again.';
+    END IF;
+END $$;
+
+DO $$
+DECLARE
+    invalid_index TEXT;
+BEGIN
+    FOR invalid_index IN
+        SELECT c.relname
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE NOT i.indisvalid
+            AND c.relname IN ('ux_users_email_lower', 'idx_users_nickname', 'idx_refresh_token_user_id', 'idx_comments_user_id')
+    LOOP
+        EXECUTE format('DROP INDEX %I', invalid_index);
+    END LOOP;
+END $$;
+
+-- INCLUDE (id) lets existsByEmail be answered from the index alone
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_users_email_lower ON users (lower(email)) INCLUDE (id);
+
+-- The expression index replaces the plain unique constraint, whose name was generated by Hibernate
+-- on databases that predate migrations, so it is looked up. It is only dropped once the new index
+-- exists, so emails are never left without a uniqueness guarantee.
+DO $$
+DECLARE
+    email_constraint TEXT;
+BEGIN
+    FOR email_constraint IN
+        SELECT c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+        WHERE c.conrelid = 'users'::regclass
+            AND c.contype = 'u'
+            AND cardinality(c.conkey) = 1
+            AND a.attname = 'email'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', email_constraint);
+    END LOOP;
+END $$;
+
+-- findByNickname and existsByNickname; existsByNickname only reads id, so it is an index-only scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_nickname ON users (nickname) INCLUDE (id);
+
+-- Foreign keys not already led by a pagination index. Deleting a user checks every referencing table,
+-- which is a sequential scan per table without these.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_user_id ON refresh_token (user_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_user_id ON comments (user_id);
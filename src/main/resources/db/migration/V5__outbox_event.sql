@@ -0,0 +1,12 @@
+-- Transactional outbox for domain events.
+-- A row is inserted in the same transaction as the change it describes and deleted by the relay
+-- once RabbitMQ has confirmed the message, so an event is published if and only if its change commits.
+CREATE TABLE outbox_event (
+    id BIGINT GENERATED ALWAYS AS IDENTITY,
+    aggregate_type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT outbox_event_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,162 @@
+package com.basicrud.backend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.security.BoundedPasswordEncoder;
+import com.basicrud.backend.security.VerifiedTokenCache;
+import com.basicrud.backend.services.UserDetailsCache;
+import com.basicrud.backend.utils.JWTUtils;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Runs the blocking parts of the auth hot path on virtual threads and fails if any of them
+ * pins its carrier thread, as reported by the JFR jdk.VirtualThreadPinned event.
+ * The nested database case borrows real HikariCP connections and runs queries through the PostgreSQL
+ * driver, so it needs the configured database; the other cases need none.
+ */
+class VirtualThreadPinningTests {
+	private static final int TASKS = 200;
+
+	private final List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+	private RecordingStream recording;
+
+	@BeforeEach
+	void startRecording() {
+		recording = new RecordingStream();
+		recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+		recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+		recording.startAsync();
+	}
+
+	@AfterEach
+	void stopRecording() {
+		recording.close();
+	}
+
+	@Test
+	void waitingForThePasswordHashingPoolDoesNotPin() throws Exception {
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+			new BCryptPasswordEncoder(4), 2, TASKS, new SimpleMeterRegistry()
+		);
+		String hash = encoder.encode("Passw0rd!");
+
+		try {
+			runOnVirtualThreads(() -> assertThat(encoder.matches("Passw0rd!", hash)).isTrue());
+		} finally {
+			encoder.shutdown();
+		}
+
+		assertNoPinning();
+	}
+
+	@Test
+	void blockingUserLoadInsideTheCacheDoesNotPin() throws Exception {
+		UserDetailsCache cache = new UserDetailsCache(new SimpleMeterRegistry(), 1_000, 60);
+
+		// The loader blocks like a JDBC call while Caffeine holds its per-key lock
+		runOnVirtualThreads(() -> cache.getById(42L, id -> {
+			sleep(Duration.ofMillis(5));
+			User user = new User("nickname", "user@example.com", "");
+			user.setId(id);
+			user.setPassword("{bcrypt}hash");
+			return Optional.of(user);
+		}));
+
+		assertNoPinning();
+	}
+
+	@Test
+	void verifyingTokensConcurrentlyDoesNotPin() throws Exception {
+		JWTUtils jwtUtils = new JWTUtils();
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "0123456789abcdef0123456789abcdef");
+		ReflectionTestUtils.setField(jwtUtils, "jwtAccessExpirationInMinutes", 15);
+		ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+		jwtUtils.init();
+		VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtils, new SimpleMeterRegistry(), 1_000);
+		String token = jwtUtils.generateAccessToken("42", new java.util.Date());
+
+		runOnVirtualThreads(() -> assertThat(cache.verify(token).isValid()).isTrue());
+
+		assertNoPinning();
+	}
+
+	@Nested
+	@SpringBootTest
+	class WithTheDatabase {
+		@Autowired
+		private HikariDataSource primaryDataSource;
+
+		@Test
+		void borrowingConnectionsAndQueryingDoesNotPin() throws Exception {
+			// Far more tasks than pooled connections, so threads also block waiting for the pool
+			assertThat(primaryDataSource.getMaximumPoolSize()).isLessThan(TASKS);
+
+			runOnVirtualThreads(() -> {
+				try (Connection connection = primaryDataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+					// Holds the connection while the driver blocks reading the response
+					statement.execute("SELECT pg_sleep(0.005)");
+				} catch (SQLException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+
+			assertNoPinning();
+		}
+	}
+
+	private void runOnVirtualThreads(Runnable task) throws Exception {
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < TASKS; i++) {
+				futures.add(executor.submit(task));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+	}
+
+	private void assertNoPinning() {
+		// stop() returns only after every recorded event has been delivered
+		recording.stop();
+		assertThat(pinnedEvents)
+			.as("virtual threads pinned their carrier")
+			.isEmpty();
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
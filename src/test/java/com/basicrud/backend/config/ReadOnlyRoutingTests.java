@@ -0,0 +1,69 @@
+package com.basicrud.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.basicrud.backend.repositories.UserRepository;
+
+/**
+ * Routes real transactions through the JPA transaction manager, with the configured database standing in
+ * as its own replica. Replica connections carry their pool name as application_name, which tells them
+ * apart from primary connections to the same server. Nothing is written: the update matches no row.
+ */
+@SpringBootTest(properties = "datasource.replicas.urls=${spring.datasource.url}")
+class ReadOnlyRoutingTests {
+	private static final String REPLICA_APPLICATION_NAME = "replica-0";
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private ReplicaRoutingDataSource replicaDataSource;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void putReplicaInRotation() {
+		replicaDataSource.checkReplicas();
+		assertThat(replicaDataSource.getHealthyReplicaCount()).isEqualTo(1);
+	}
+
+	@Test
+	void readOnlyRepositoryCallRunsOnTheReplica() {
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+
+		String applicationName = readOnly.execute(status -> {
+			userRepository.existsByEmail("routing@example.com");
+			return currentApplicationName();
+		});
+
+		assertThat(applicationName).isEqualTo(REPLICA_APPLICATION_NAME);
+	}
+
+	@Test
+	void writeRunsOnThePrimary() {
+		TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+		String applicationName = readWrite.execute(status -> {
+			userRepository.updatePassword(-1L, "{bcrypt}unused");
+			return currentApplicationName();
+		});
+
+		assertThat(applicationName).isNotEqualTo(REPLICA_APPLICATION_NAME);
+	}
+
+	// JdbcTemplate joins the transaction, so this reads the session the repository call used
+	private String currentApplicationName() {
+		return jdbcTemplate.queryForObject("SHOW application_name", String.class);
+	}
+
+}
@@ -0,0 +1,163 @@
+package com.basicrud.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Exercises the routing with stand-in DataSources whose lag query answers a configurable value,
+ * so no database is needed.
+ */
+class ReplicaRoutingDataSourceTests {
+	private static final long MAX_LAG_IN_MILLIS = 1_000;
+	private static final long MAX_RECEIVER_SILENCE_IN_MILLIS = 60_000;
+
+	private StandIn primary;
+	private StandIn first;
+	private StandIn second;
+	private ReplicaRoutingDataSource routingDataSource;
+	private LazyConnectionDataSourceProxy dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		primary = new StandIn();
+		first = new StandIn();
+		second = new StandIn();
+		routingDataSource = new ReplicaRoutingDataSource(
+			primary.dataSource,
+			List.of(first.dataSource, second.dataSource),
+			MAX_LAG_IN_MILLIS,
+			MAX_RECEIVER_SILENCE_IN_MILLIS
+		);
+
+		dataSource = new LazyConnectionDataSourceProxy(
+			new ReadOnlyTransactionRoutingDataSource(primary.dataSource, routingDataSource)
+		);
+		// Known defaults stop the proxy from borrowing a connection to detect them, which would advance the rotation
+		dataSource.setDefaultAutoCommit(true);
+		dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+	}
+
+	@Test
+	void readOnlyWorkGoesToReplicasInTurn() throws SQLException {
+		routingDataSource.checkReplicas();
+
+		assertThat(targetOf(true)).isSameAs(first.connection);
+		assertThat(targetOf(true)).isSameAs(second.connection);
+		assertThat(targetOf(true)).isSameAs(first.connection);
+	}
+
+	@Test
+	void readWriteWorkStaysOnThePrimary() throws SQLException {
+		routingDataSource.checkReplicas();
+
+		assertThat(targetOf(false)).isSameAs(primary.connection);
+	}
+
+	@Test
+	void laggingReplicaIsSkippedUntilItCatchesUp() throws SQLException {
+		first.lagInMillis = 5_000;
+		routingDataSource.checkReplicas();
+
+		assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(1);
+		assertThat(targetOf(true)).isSameAs(second.connection);
+		assertThat(targetOf(true)).isSameAs(second.connection);
+
+		first.lagInMillis = 0;
+		routingDataSource.checkReplicas();
+
+		assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(2);
+	}
+
+	@Test
+	void replicaWhoseReceiverStoppedStreamingIsSkipped() throws SQLException {
+		// A disconnected receiver has replayed everything it received, so only the NULL marks it
+		first.streaming = false;
+		routingDataSource.checkReplicas();
+
+		assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(1);
+		assertThat(targetOf(true)).isSameAs(second.connection);
+
+		first.streaming = true;
+		routingDataSource.checkReplicas();
+
+		assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(2);
+	}
+
+	@Test
+	void readOnlyWorkFallsBackToThePrimaryWhenNoReplicaIsHealthy() throws SQLException {
+		first.lagInMillis = 5_000;
+		second.available = false;
+		routingDataSource.checkReplicas();
+
+		assertThat(targetOf(true)).isSameAs(primary.connection);
+	}
+
+	@Test
+	void replicasAreNotUsedBeforeTheFirstLagCheck() throws SQLException {
+		assertThat(targetOf(true)).isSameAs(primary.connection);
+	}
+
+	@Test
+	void replicaRefusingConnectionsIsTakenOutOfRotation() throws SQLException {
+		routingDataSource.checkReplicas();
+		first.available = false;
+
+		assertThat(targetOf(true)).isSameAs(second.connection);
+		assertThat(routingDataSource.getHealthyReplicaCount()).isEqualTo(1);
+	}
+
+	// The transaction manager publishes the read-only flag before the first statement runs;
+	// ReadOnlyRoutingTests covers that part with the real transaction manager
+	private Connection targetOf(boolean readOnly) throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+		try (Connection connection = dataSource.getConnection()) {
+			connection.createStatement();
+			return ((ConnectionProxy) connection).getTargetConnection();
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+	}
+
+	private static final class StandIn {
+		private final DataSource dataSource = mock(DataSource.class);
+		private final Connection connection = mock(Connection.class);
+		private volatile long lagInMillis;
+		private volatile boolean streaming = true;
+		private volatile boolean available = true;
+
+		private StandIn() throws SQLException {
+			Statement statement = mock(Statement.class);
+			ResultSet resultSet = mock(ResultSet.class);
+
+			when(dataSource.getConnection()).thenAnswer(invocation -> {
+				if (!available) {
+					throw new SQLException("Connection refused");
+				}
+				return connection;
+			});
+			when(connection.createStatement()).thenReturn(statement);
+			when(connection.getAutoCommit()).thenReturn(true);
+			when(statement.executeQuery(anyString())).thenReturn(resultSet);
+			when(resultSet.next()).thenReturn(true);
+			when(resultSet.getLong(1)).thenAnswer(invocation -> streaming ? lagInMillis : 0L);
+			when(resultSet.wasNull()).thenAnswer(invocation -> !streaming);
+		}
+	}
+
+}
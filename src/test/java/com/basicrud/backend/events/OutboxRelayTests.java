@@ -0,0 +1,196 @@
+package com.basicrud.backend.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitOperations.OperationsCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.dto.UserCreateRequest;
+import com.basicrud.backend.exceptions.ConflictException;
+import com.basicrud.backend.repositories.UserRepository;
+import com.basicrud.backend.services.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The relay runs against a stand-in broker: a RabbitTemplate whose channel records what is sent
+ * and confirms (or fails to confirm) on demand, so no RabbitMQ is needed.
+ * The tests run against the configured database, so they only count and delete the users and events
+ * they create, and the relay tests are skipped while the outbox holds events of anyone else, which a
+ * relay to the stand-in broker would otherwise consume.
+ */
+@SpringBootTest(properties = "events.outbox.enabled=true")
+class OutboxRelayTests {
+	private static final String EXCHANGE = "user.events";
+
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private RabbitOperations channel;
+	private List<Message> sent;
+	private OutboxRelay relay;
+	private List<Long> createdUserIds;
+
+	@BeforeEach
+	void setUp() {
+		createdUserIds = new ArrayList<>();
+		channel = mock(RabbitOperations.class);
+		sent = new ArrayList<>();
+		doAnswer(invocation -> sent.add(invocation.getArgument(2)))
+			.when(channel).send(anyString(), anyString(), any(Message.class));
+
+		ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+		when(connectionFactory.isSimplePublisherConfirms()).thenReturn(true);
+		RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+		when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+		when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+			invocation.<OperationsCallback<?>>getArgument(0).doInRabbit(channel));
+
+		relay = new OutboxRelay(
+			jdbcTemplate, transactionManager, rabbitTemplate, new SimpleMeterRegistry(), EXCHANGE, 100, 1_000, 30_000
+		);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update(
+			"DELETE FROM outbox_event WHERE aggregate_type = 'user' AND aggregate_id = ANY (?)",
+			(Object) createdUserIds.toArray(Long[]::new)
+		);
+		userRepository.deleteAllByIdInBatch(createdUserIds);
+	}
+
+	@Test
+	void registrationWritesItsEventWithoutTouchingTheBroker() {
+		User user = register("newcomer", "newcomer@example.com");
+
+		assertThat(outboxCount(user.getId())).isEqualTo(1);
+		assertThat(sent).isEmpty();
+	}
+
+	@Test
+	void rejectedRegistrationLeavesNoEvent() {
+		User user = register("newcomer", "newcomer@example.com");
+		jdbcTemplate.update("DELETE FROM outbox_event WHERE aggregate_type = 'user' AND aggregate_id = ?", user.getId());
+
+		assertThatThrownBy(() -> userService.createUser(new UserCreateRequest("other", "newcomer@example.com", "Passw0rd!")))
+			.isInstanceOf(ConflictException.class);
+		// The rejected attempt never got an id of its own, so its event could only be found by the address
+		assertThat(jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM outbox_event WHERE aggregate_type = 'user' AND payload::jsonb ->> 'email' = ?",
+			Long.class,
+			"newcomer@example.com"
+		)).isZero();
+	}
+
+	@Test
+	void confirmedEventsArePublishedInOrderAndDeleted() {
+		assumeOutboxHoldsNoOtherEvents();
+		for (int i = 0; i < 3; i++) {
+			register("user" + i, "user" + i + "@example.com");
+		}
+
+		relay.relay();
+
+		assertThat(sent).hasSize(3);
+		assertThat(sent).extracting(message -> message.getMessageProperties().getType())
+			.containsOnly(UserCreatedEvent.TYPE);
+		assertThat(sent).extracting(message -> Long.parseLong(message.getMessageProperties().getMessageId()))
+			.isSorted();
+		assertThat(outboxCount(createdUserIds.toArray(Long[]::new))).isZero();
+	}
+
+	@Test
+	void unconfirmedBatchIsKeptForTheNextAttempt() {
+		assumeOutboxHoldsNoOtherEvents();
+		User user = register("newcomer", "newcomer@example.com");
+		doThrow(new AmqpTimeoutException("No confirms")).when(channel).waitForConfirmsOrDie(anyLong());
+
+		relay.relay();
+
+		assertThat(sent).hasSize(1);
+		assertThat(outboxCount(user.getId())).isEqualTo(1);
+	}
+
+	@Test
+	void publishedEventIsDeliveredAsWelcomeMail() {
+		assumeOutboxHoldsNoOtherEvents();
+		register("newcomer", "newcomer@example.com");
+		relay.relay();
+
+		// Converted the way the listener container converts it for a UserCreatedEvent parameter
+		Message message = sent.get(0);
+		message.getMessageProperties().setInferredArgumentType(UserCreatedEvent.class);
+		UserCreatedEvent event = (UserCreatedEvent) new Jackson2JsonMessageConverter(objectMapper).fromMessage(message);
+
+		JavaMailSender mailSender = mock(JavaMailSender.class);
+		@SuppressWarnings("unchecked")
+		ObjectProvider<JavaMailSender> mailSenderProvider = mock(ObjectProvider.class);
+		when(mailSenderProvider.getIfAvailable()).thenReturn(mailSender);
+		new WelcomeMailListener(mailSenderProvider, "no-reply@example.com").onUserCreated(event);
+
+		ArgumentCaptor<SimpleMailMessage> mail = ArgumentCaptor.forClass(SimpleMailMessage.class);
+		verify(mailSender).send(mail.capture());
+		assertThat(mail.getValue().getTo()).containsExactly("newcomer@example.com");
+		assertThat(mail.getValue().getSubject()).contains("newcomer");
+	}
+
+	private User register(String nickname, String email) {
+		User user = userService.createUser(new UserCreateRequest(nickname, email, "Passw0rd!"));
+		createdUserIds.add(user.getId());
+		return user;
+	}
+
+	private long outboxCount(Long... userIds) {
+		return jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM outbox_event WHERE aggregate_type = 'user' AND aggregate_id = ANY (?)",
+			Long.class,
+			(Object) userIds
+		);
+	}
+
+	private void assumeOutboxHoldsNoOtherEvents() {
+		assumeThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Long.class))
+			.as("events in the outbox before the test")
+			.isZero();
+	}
+}
@@ -0,0 +1,139 @@
+package com.basicrud.backend.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.basicrud.backend.domain.Comment;
+import com.basicrud.backend.domain.Post;
+import com.basicrud.backend.domain.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Measures inserts per second for posts and comments at several JDBC batch sizes.
+ * A batch size of 1 costs one round-trip per row, which is what IDENTITY ids forced on every insert.
+ * Only runs when the BENCHMARK environment variable is "true", against the configured database, and
+ * deletes only the rows it inserted. Rates are written to build/results/batch-insert, next to the JMH
+ * and load test results.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+class BatchInsertBenchmarkTests {
+	private static final int ROWS = 20_000;
+	private static final int[] BATCH_SIZES = { 1, 10, 50, 200 };
+	private static final Path RESULTS = Path.of("build", "results", "batch-insert");
+	private static final Logger log = LoggerFactory.getLogger(BatchInsertBenchmarkTests.class);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PostRepository postRepository;
+
+	private Long authorId;
+	private Long postId;
+
+	@BeforeEach
+	void seed() {
+		User author = new User("benchmark", "benchmark@example.com", "");
+		author.setPassword("{bcrypt}unused");
+		authorId = userRepository.save(author).getId();
+
+		Post post = new Post("Benchmark post", "Content");
+		post.setUser(author);
+		postId = postRepository.save(post).getId();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		// Every row the benchmark inserts belongs to its author or, for comments, to its post
+		jdbcTemplate.update("DELETE FROM comments WHERE user_id = ? OR post_id = ?", authorId, postId);
+		jdbcTemplate.update("DELETE FROM posts WHERE user_id = ?", authorId);
+		userRepository.deleteById(authorId);
+	}
+
+	@Test
+	void postInsertThroughput() throws IOException {
+		Map<Integer, Double> rates = measure("posts", i -> {
+			Post post = new Post("Benchmark post " + i, "Content " + i);
+			post.setUser(entityManager.getReference(User.class, authorId));
+			return post;
+		});
+
+		assertThat(rates.get(50)).isGreaterThan(rates.get(1));
+	}
+
+	@Test
+	void commentInsertThroughput() throws IOException {
+		Map<Integer, Double> rates = measure("comments", i -> new Comment(
+			"Comment " + i,
+			entityManager.getReference(User.class, authorId),
+			entityManager.getReference(Post.class, postId)
+		));
+
+		assertThat(rates.get(50)).isGreaterThan(rates.get(1));
+	}
+
+	private Map<Integer, Double> measure(String entity, IntFunction<Object> factory) throws IOException {
+		// Warm up the connection pool, statement cache and JIT before measuring
+		insert(50, factory);
+
+		Map<Integer, Double> rates = new LinkedHashMap<>();
+		for (int batchSize : BATCH_SIZES) {
+			rates.put(batchSize, insert(batchSize, factory));
+		}
+
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format(Locale.ROOT, "%s: %d rows per run", entity, ROWS));
+		rates.forEach((batchSize, rate) ->
+			lines.add(String.format(Locale.ROOT, "  batch size %4d: %,10.0f inserts/s", batchSize, rate)));
+		Path results = Files.createDirectories(RESULTS).resolve(entity + ".txt");
+		Files.write(results, lines);
+		log.info("{}\nWritten to {}", String.join("\n", lines), results.toAbsolutePath());
+		return rates;
+	}
+
+	private double insert(int batchSize, IntFunction<Object> factory) {
+		long start = System.nanoTime();
+		transactionTemplate.executeWithoutResult(status -> {
+			entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+			for (int i = 0; i < ROWS; i++) {
+				entityManager.persist(factory.apply(i));
+				// Keep the persistence context small so the measurement is dominated by the inserts
+				if ((i + 1) % batchSize == 0) {
+					entityManager.flush();
+					entityManager.clear();
+				}
+			}
+		});
+		return ROWS / ((System.nanoTime() - start) / 1_000_000_000.0);
+	}
+
+}
@@ -0,0 +1,204 @@
+package com.basicrud.backend.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.basicrud.backend.services.RefreshTokenPurgeJob;
+
+/**
+ * Records the SQL Hibernate generates for every repository query on a seeded dataset, runs EXPLAIN on it
+ * and fails when a plan contains a sequential scan. Sequential scans are disabled for the transaction,
+ * so the planner only chooses one when no usable index exists, regardless of how small the tables are.
+ * Seeding, planning and the repository calls share one transaction that is always rolled back, so the
+ * configured database is left as it was. EXPLAIN (GENERIC_PLAN) needs PostgreSQL 16 or later.
+ */
+@SpringBootTest
+class IndexUsageTests {
+	private static final int USERS = 2_000;
+	private static final int POSTS_PER_USER = 5;
+
+	// Statements Hibernate prepares while a repository call is being recorded
+	private static final List<String> RECORDED = new CopyOnWriteArrayList<>();
+	private static volatile boolean recording;
+
+	// Statements run by the database itself on every user delete to enforce the foreign keys
+	private static final Map<String, String> NATIVE_QUERIES = new LinkedHashMap<>();
+
+	static {
+		NATIVE_QUERIES.put("refresh_token.user_id foreign key",
+			"SELECT 1 FROM refresh_token WHERE user_id = 42");
+		NATIVE_QUERIES.put("posts.user_id foreign key",
+			"SELECT 1 FROM posts WHERE user_id = 42");
+		NATIVE_QUERIES.put("comments.user_id foreign key",
+			"SELECT 1 FROM comments WHERE user_id = 42");
+		NATIVE_QUERIES.put("comments.post_id foreign key",
+			"SELECT 1 FROM comments WHERE post_id = 42");
+	}
+
+	@TestConfiguration
+	static class RecordingStatementInspector {
+		// Runs after MetricsConfig and wraps its inspector, so statement counting keeps working
+		@Bean
+		@Order(1)
+		HibernatePropertiesCustomizer recordingStatementInspector() {
+			return properties -> {
+				StatementInspector delegate = (StatementInspector) properties.get(AvailableSettings.STATEMENT_INSPECTOR);
+				properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+					if (recording) {
+						RECORDED.add(sql);
+					}
+					return delegate != null ? delegate.inspect(sql) : sql;
+				});
+			};
+		}
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PostRepository postRepository;
+	@Autowired
+	private CommentRepository commentRepository;
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Test
+	void everyRepositoryQueryUsesAnIndex() {
+		Map<String, String> sequentialScans = new LinkedHashMap<>();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			status.setRollbackOnly();
+			long userId = seed();
+			String email = "index-usage-" + userId + "@example.com";
+			LocalDateTime now = LocalDateTime.now();
+
+			Map<String, List<String>> statements = new LinkedHashMap<>();
+			statements.put("UserRepository.existsByEmail", record(() -> userRepository.existsByEmail(email)));
+			statements.put("UserRepository.findByEmail", record(() -> userRepository.findByEmail(email)));
+			statements.put("UserRepository.findExistingEmails", record(() -> userRepository.findExistingEmails(List.of(email))));
+			statements.put("UserRepository.existsByNickname", record(() -> userRepository.existsByNickname("index-usage-" + userId)));
+			statements.put("UserRepository.findByNickname", record(() -> userRepository.findByNickname("index-usage-" + userId)));
+			statements.put("UserRepository.existsById", record(() -> userRepository.existsById(userId)));
+			statements.put("UserRepository.findById", record(() -> userRepository.findById(userId)));
+			statements.put("UserRepository.updatePassword", record(() -> userRepository.updatePassword(userId, "{bcrypt}unused")));
+			statements.put("PostRepository.findFeed", record(() -> postRepository.findFeed(PageRequest.of(0, 21))));
+			statements.put("PostRepository.findFeedBefore", record(() -> postRepository.findFeedBefore(now, userId, PageRequest.of(0, 21))));
+			statements.put("PostRepository.findDetailById", record(() -> postRepository.findDetailById(userId)));
+			statements.put("PostRepository.incrementCommentCount", record(() -> postRepository.incrementCommentCount(userId)));
+			statements.put("CommentRepository.findPage", record(() -> commentRepository.findPage(userId, PageRequest.of(0, 51))));
+			statements.put("CommentRepository.findPageAfter",
+				record(() -> commentRepository.findPageAfter(userId, now.minusDays(1), userId, PageRequest.of(0, 51))));
+			statements.put("RefreshTokenRepository.existsById", record(() -> refreshTokenRepository.existsById(UUID.randomUUID())));
+			statements.put("RefreshTokenRepository.removeById", record(() -> refreshTokenRepository.removeById(UUID.randomUUID())));
+			// Issued through JdbcTemplate, so Hibernate never sees it; planned from the job's own constant
+			statements.put("RefreshTokenPurgeJob chunk", List.of(RefreshTokenPurgeJob.DELETE_CHUNK_SQL));
+
+			jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+			statements.forEach((name, sqls) -> {
+				assertThat(sqls).as("statements recorded for " + name).isNotEmpty();
+				for (String sql : sqls) {
+					List<String> plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class);
+					if (plan.stream().anyMatch(line -> line.contains("Seq Scan"))) {
+						sequentialScans.put(name, sql + "\n" + String.join("\n", plan));
+					}
+				}
+			});
+			NATIVE_QUERIES.forEach((name, sql) -> {
+				List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+				if (plan.stream().anyMatch(line -> line.contains("Seq Scan"))) {
+					sequentialScans.put(name, String.join("\n", plan));
+				}
+			});
+		});
+
+		assertThat(sequentialScans).as("queries planned with a sequential scan").isEmpty();
+	}
+
+	// Inserts the dataset above any existing ids and returns the first seeded id
+	private long seed() {
+		long firstId = jdbcTemplate.queryForObject(
+			"SELECT GREATEST(" +
+			"(SELECT COALESCE(MAX(id), 0) FROM users), " +
+			"(SELECT COALESCE(MAX(id), 0) FROM posts), " +
+			"(SELECT COALESCE(MAX(id), 0) FROM comments)) + 1",
+			Long.class
+		);
+		jdbcTemplate.update(
+			"INSERT INTO users (id, nickname, email, password) " +
+			"SELECT n, 'index-usage-' || n, 'index-usage-' || n || '@example.com', '{bcrypt}unused' " +
+			"FROM generate_series(?::bigint, ?::bigint) n",
+			firstId, firstId + USERS - 1
+		);
+		jdbcTemplate.update(
+			"INSERT INTO posts (id, user_id, title, content, comment_count, created_at, updated_at) " +
+			"SELECT n, ? + (n % ?), 'Post ' || n, 'Content', 1, now() - (n - ?) * interval '1 minute', now() " +
+			"FROM generate_series(?::bigint, ?::bigint) n",
+			firstId, USERS, firstId, firstId, firstId + USERS * POSTS_PER_USER - 1
+		);
+		jdbcTemplate.update(
+			"INSERT INTO comments (id, content, user_id, post_id, created_at, updated_at) " +
+			"SELECT n, 'Comment', ? + (n % ?), n, now(), now() FROM generate_series(?::bigint, ?::bigint) n",
+			firstId, USERS, firstId, firstId + USERS * POSTS_PER_USER - 1
+		);
+		jdbcTemplate.update(
+			"INSERT INTO refresh_token (id, user_id, created_at, expires_at) " +
+			"SELECT gen_random_uuid(), ? + (n % ?), now(), now() + (n % 14 - 7) * interval '1 day' " +
+			"FROM generate_series(1, ?) n",
+			firstId, USERS, USERS
+		);
+		// Statistics gathered here are rolled back with the data
+		jdbcTemplate.execute("ANALYZE users, posts, comments, refresh_token");
+		return firstId;
+	}
+
+	private static List<String> record(Runnable repositoryCall) {
+		RECORDED.clear();
+		recording = true;
+		try {
+			repositoryCall.run();
+		} finally {
+			recording = false;
+		}
+		return new ArrayList<>(RECORDED);
+	}
+
+	// JDBC placeholders become $1, $2, ... so the statement can be planned without values
+	private static String numberParameters(String sql) {
+		StringBuilder numbered = new StringBuilder(sql.length() + 16);
+		int parameter = 0;
+		for (int i = 0; i < sql.length(); i++) {
+			char c = sql.charAt(i);
+			if (c == '?') {
+				numbered.append('$').append(++parameter);
+			} else {
+				numbered.append(c);
+			}
+		}
+		return numbered.toString();
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.basicrud.backend.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.basicrud.backend.domain.Comment;
+import com.basicrud.backend.domain.Post;
+import com.basicrud.backend.domain.RefreshToken;
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.services.CommentService;
+import com.basicrud.backend.services.PostService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the number of SQL statements each read path issues, using Hibernate statistics.
+ * A regression such as an eager association or an N+1 loop fails the build here.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class QueryCountTests {
+	private static final int POSTS = 30;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private PostRepository postRepository;
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+	@Autowired
+	private CommentRepository commentRepository;
+	@Autowired
+	private PostService postService;
+	@Autowired
+	private CommentService commentService;
+
+	private Statistics statistics;
+	private List<Long> userIds;
+	private List<Long> postIds;
+	private List<Long> commentIds;
+	private UUID refreshTokenId;
+
+	@BeforeEach
+	void seed() {
+		User author = new User("query-count", "query-count@example.com", "");
+		author.setPassword("{bcrypt}unused");
+		userIds = new ArrayList<>();
+		userIds.add(userRepository.save(author).getId());
+
+		postIds = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			Post post = new Post("Post number " + i, "Content " + i);
+			post.setUser(author);
+			postIds.add(postRepository.save(post).getId());
+		}
+
+		Post commented = postRepository.getReferenceById(postIds.get(0));
+		commentIds = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			User commenter = new User("commenter-" + i, "commenter-" + i + "@example.com", "");
+			commenter.setPassword("{bcrypt}unused");
+			userIds.add(userRepository.save(commenter).getId());
+			commentIds.add(commentRepository.save(new Comment("Comment " + i, commenter, commented)).getId());
+		}
+
+		RefreshToken refreshToken = new RefreshToken(author, LocalDateTime.now(ZoneOffset.UTC));
+		refreshTokenId = refreshTokenRepository.save(refreshToken).getId();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	// Only the rows seeded above, since the tests run against the configured database
+	@AfterEach
+	void cleanUp() {
+		refreshTokenRepository.deleteAllByIdInBatch(List.of(refreshTokenId));
+		commentRepository.deleteAllByIdInBatch(commentIds);
+		postRepository.deleteAllByIdInBatch(postIds);
+		userRepository.deleteAllByIdInBatch(userIds);
+	}
+
+	@Test
+	void feedPageIsASingleStatement() {
+		postService.getFeed(null, 20);
+
+		assertStatementCount(1);
+	}
+
+	@Test
+	void postDetailIsASingleStatement() {
+		postService.getPost(postIds.get(0));
+
+		assertStatementCount(1);
+	}
+
+	@Test
+	void commentPageWithDistinctAuthorsIsASingleStatement() {
+		commentService.getComments(postIds.get(0), null, 20);
+
+		assertStatementCount(1);
+	}
+
+	@Test
+	void loadingPostsDoesNotLoadTheirAuthors() {
+		List<Post> posts = postRepository.findAllById(postIds);
+
+		assertThat(posts).hasSize(POSTS);
+		assertThat(posts).noneMatch(post -> Hibernate.isInitialized(post.getUser()));
+		assertStatementCount(1);
+	}
+
+	@Test
+	void loadingARefreshTokenDoesNotLoadItsUser() {
+		RefreshToken refreshToken = refreshTokenRepository.findById(refreshTokenId).orElseThrow();
+
+		assertThat(Hibernate.isInitialized(refreshToken.getUser())).isFalse();
+		assertStatementCount(1);
+	}
+
+	private void assertStatementCount(long expected) {
+		assertThat(statistics.getPrepareStatementCount())
+			.as("SQL statements issued")
+			.isLessThanOrEqualTo(expected);
+	}
+
+}
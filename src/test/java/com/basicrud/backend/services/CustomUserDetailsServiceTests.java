@@ -0,0 +1,52 @@
+package com.basicrud.backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.basicrud.backend.domain.User;
+import com.basicrud.backend.repositories.UserRepository;
+
+@SpringBootTest
+class CustomUserDetailsServiceTests {
+	private static final String PASSWORD = "Passw0rd!";
+
+	@Autowired
+	private AuthenticationManager authenticationManager;
+	@Autowired
+	private UserRepository userRepository;
+
+	private Long userId;
+
+	// Only the user seeded here, since the tests run against the configured database
+	@AfterEach
+	void cleanUp() {
+		if (userId != null) {
+			userRepository.deleteAllByIdInBatch(List.of(userId));
+		}
+	}
+
+	@Test
+	void loginRehashesAPasswordStoredWithAWeakerStrength() {
+		String weakHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+		User user = new User("rehash", "rehash@example.com", "");
+		user.setPassword(weakHash);
+		userId = userRepository.save(user).getId();
+
+		authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("rehash@example.com", PASSWORD));
+
+		String storedHash = userRepository.findById(userId).orElseThrow().getPassword();
+		assertThat(storedHash).isNotEqualTo(weakHash);
+		assertThat(storedHash).startsWith("{bcrypt}");
+		assertThat(new BCryptPasswordEncoder().matches(PASSWORD, storedHash.substring("{bcrypt}".length()))).isTrue();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.basicrud.backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.basicrud.backend.dto.UserCreateRequest;
+import com.basicrud.backend.exceptions.ConflictException;
+import com.basicrud.backend.exceptions.InvalidRequestDataException;
+
+@SpringBootTest
+class UserServiceTests {
+	private static final int CONCURRENT_REGISTRATIONS = 8;
+	private static final List<String> REGISTERED_EMAILS = List.of("racer@example.com", "taken@example.com");
+
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Only the users registered here, and their events, since the tests run against the configured database
+	@AfterEach
+	void cleanUp() {
+		for (String email : REGISTERED_EMAILS) {
+			jdbcTemplate.update(
+				"DELETE FROM outbox_event WHERE aggregate_type = 'user' " +
+				"AND aggregate_id IN (SELECT id FROM users WHERE lower(email) = ?)",
+				email
+			);
+			jdbcTemplate.update("DELETE FROM users WHERE lower(email) = ?", email);
+		}
+	}
+
+	@Test
+	void concurrentRegistrationsWithOneEmailCreateOneUserAndConflictTheRest() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REGISTRATIONS)) {
+			for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+				// Different spellings of the same address must collide as well
+				String email = i % 2 == 0 ? "racer@example.com" : "Racer@Example.com";
+				results.add(executor.submit(() -> {
+					start.await();
+					return userService.createUser(new UserCreateRequest("racer", email, "Passw0rd!"));
+				}));
+			}
+			start.countDown();
+		}
+
+		int created = 0;
+		int conflicts = 0;
+		for (Future<?> result : results) {
+			try {
+				result.get();
+				created++;
+			} catch (ExecutionException e) {
+				assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+				conflicts++;
+			}
+		}
+
+		assertThat(created).isEqualTo(1);
+		assertThat(conflicts).isEqualTo(CONCURRENT_REGISTRATIONS - 1);
+		assertThat(usersWithEmail("racer@example.com")).isEqualTo(1);
+	}
+
+	@Test
+	void invalidRequestIsRejectedBeforeTheEmailIsChecked() {
+		userService.createUser(new UserCreateRequest("taken", "taken@example.com", "Passw0rd!"));
+
+		// A weak password is reported even though the email is also taken
+		assertThatThrownBy(() -> userService.createUser(new UserCreateRequest("taken", "taken@example.com", "weak")))
+			.isInstanceOf(InvalidRequestDataException.class);
+	}
+
+	private long usersWithEmail(String email) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE lower(email) = ?", Long.class, email);
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.basicrud.backend.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class CountingBloomFilterTests {
+
+	@Test
+	void sizedForTenMillionTokensUsesUnderFiftyMegabytes() {
+		CountingBloomFilter filter = new CountingBloomFilter(10_000_000, 0.01);
+
+		assertThat(filter.memoryInBytes()).isLessThan(50L * 1024 * 1024);
+		assertThat(filter.getHashCount()).isEqualTo(7);
+	}
+
+	@Test
+	void neverReportsAddedTokensAsMissing() {
+		CountingBloomFilter filter = new CountingBloomFilter(100_000, 0.01);
+		List<UUID> tokens = randomTokens(100_000);
+		tokens.forEach(id -> filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+
+		assertThat(tokens).allMatch(id -> filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+	}
+
+	@Test
+	void keepsFalsePositivesNearConfiguredRate() {
+		CountingBloomFilter filter = new CountingBloomFilter(100_000, 0.01);
+		randomTokens(100_000).forEach(id -> filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+
+		long falsePositives = randomTokens(100_000).stream()
+			.filter(id -> filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits()))
+			.count();
+
+		assertThat(falsePositives).isLessThan(1_500);
+	}
+
+	@Test
+	void forgetsRemovedTokensWithoutLosingOthers() {
+		CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+		List<UUID> kept = randomTokens(5_000);
+		List<UUID> removed = randomTokens(5_000);
+		kept.forEach(id -> filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+		removed.forEach(id -> filter.add(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+		removed.forEach(id -> filter.remove(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+
+		assertThat(kept).allMatch(id -> filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+		assertThat(removed.stream()
+			.filter(id -> filter.mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits()))
+			.count()).isLessThan(150);
+	}
+
+	private static List<UUID> randomTokens(int count) {
+		List<UUID> tokens = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			tokens.add(UUID.randomUUID());
+		}
+		return tokens;
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.basicrud.backend.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JWTUtilsMetricsTests {
+	private SimpleMeterRegistry meterRegistry;
+	private JWTUtils jwtUtils;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		jwtUtils = jwtUtils("0123456789abcdef0123456789abcdef", meterRegistry);
+	}
+
+	private static JWTUtils jwtUtils(String secret, SimpleMeterRegistry meterRegistry) {
+		JWTUtils jwtUtils = new JWTUtils();
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", secret);
+		ReflectionTestUtils.setField(jwtUtils, "jwtAccessExpirationInMinutes", 15);
+		ReflectionTestUtils.setField(jwtUtils, "meterRegistry", meterRegistry);
+		jwtUtils.init();
+		return jwtUtils;
+	}
+
+	@Test
+	void recordsEachVerificationUnderItsOutcome() {
+		String valid = jwtUtils.generateAccessToken("42", new Date());
+		String expired = jwtUtils.generateAccessToken("42", new Date(System.currentTimeMillis() - 60 * 60 * 1000));
+		String badSignature = jwtUtils("fedcba9876543210fedcba9876543210", new SimpleMeterRegistry())
+			.generateAccessToken("42", new Date());
+
+		jwtUtils.verify(valid);
+		jwtUtils.verify(valid);
+		jwtUtils.verify(expired);
+		jwtUtils.verify(badSignature);
+		jwtUtils.verify("not-a-token");
+
+		assertThat(verifyCount("valid")).isEqualTo(2);
+		assertThat(verifyCount("expired")).isEqualTo(1);
+		assertThat(verifyCount("bad_signature")).isEqualTo(1);
+		assertThat(verifyCount("malformed")).isEqualTo(1);
+		assertThat(meterRegistry.get("jwt.generate").tag("type", "access").timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	void registersEveryOutcomeUpFront() {
+		// Series exist from startup, so rates and alerts never start from a missing metric
+		assertThat(meterRegistry.get("jwt.verify").timers())
+			.hasSize(TokenVerification.FailureReason.values().length + 1);
+	}
+
+	private long verifyCount(String outcome) {
+		return meterRegistry.get("jwt.verify").tag("outcome", outcome).timer().count();
+	}
+}
@@ -0,0 +1,96 @@
+package com.basicrud.backend.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class RateLimitedLogTests {
+	private enum Reason {
+		EXPIRED,
+		MALFORMED
+	}
+
+	private Logger logger;
+	private ListAppender<ILoggingEvent> appender;
+
+	@BeforeEach
+	void setUp() {
+		logger = (Logger) LoggerFactory.getLogger(RateLimitedLogTests.class);
+		logger.setLevel(Level.INFO);
+		appender = new ListAppender<>();
+		appender.start();
+		logger.addAppender(appender);
+	}
+
+	@AfterEach
+	void tearDown() {
+		logger.detachAppender(appender);
+		logger.setLevel(null);
+	}
+
+	@Test
+	void logsFirstEventPerReasonAndSummarizesTheRest() {
+		RateLimitedLog<Reason> log = new RateLimitedLog<>(logger, Reason.class, Duration.ofMinutes(1));
+
+		for (int i = 0; i < 1_000; i++) {
+			log.log(Reason.EXPIRED, "JWT token is expired: {}", i);
+		}
+		log.log(Reason.MALFORMED, "Invalid JWT token: {}", "x");
+		log.logSummary();
+
+		assertThat(appender.list)
+			.extracting(ILoggingEvent::getFormattedMessage)
+			.containsExactly(
+				"JWT token is expired: 0",
+				"Invalid JWT token: x",
+				"999 more expired events in the last 60 s"
+			);
+	}
+
+	@Test
+	void attachesTheCauseInsteadOfFormattingIt() {
+		RateLimitedLog<Reason> log = new RateLimitedLog<>(logger, Reason.class, Duration.ofMinutes(1));
+		IllegalStateException cause = new IllegalStateException("lookup failed");
+
+		log.log(Reason.MALFORMED, "Cannot set user authentication: {}", cause.getMessage(), cause);
+
+		assertThat(appender.list).singleElement().satisfies(event -> {
+			assertThat(event.getFormattedMessage()).isEqualTo("Cannot set user authentication: lookup failed");
+			assertThat(event.getThrowableProxy().getClassName()).isEqualTo(IllegalStateException.class.getName());
+		});
+	}
+
+	@Test
+	void summaryStartsOverAfterEachReport() {
+		RateLimitedLog<Reason> log = new RateLimitedLog<>(logger, Reason.class, Duration.ofMinutes(1));
+		log.log(Reason.EXPIRED, "JWT token is expired: {}", 1);
+		log.log(Reason.EXPIRED, "JWT token is expired: {}", 2);
+		log.logSummary();
+		log.logSummary();
+
+		assertThat(appender.list).hasSize(2);
+	}
+
+	@Test
+	void neitherLogsNorCountsWhenInfoIsDisabled() {
+		logger.setLevel(Level.WARN);
+		RateLimitedLog<Reason> log = new RateLimitedLog<>(logger, Reason.class, Duration.ofMinutes(1));
+
+		log.log(Reason.EXPIRED, "JWT token is expired: {}", 1);
+		log.log(Reason.EXPIRED, "JWT token is expired: {}", 2);
+		logger.setLevel(Level.INFO);
+		log.logSummary();
+
+		assertThat(appender.list).isEmpty();
+	}
+}